@@ -9,7 +9,10 @@ import javax.annotation.Nonnull;
 import javax.security.auth.login.LoginException;
 
 import com.radicaldevs.javadiscordapi.command.CommandManager;
+import com.radicaldevs.javadiscordapi.command.GuildPrefixes;
+import com.radicaldevs.javadiscordapi.command.PrefixList;
 import com.radicaldevs.javadiscordapi.event.ListenerManager;
+import com.radicaldevs.javadiscordapi.impl.GatewayRecorder;
 import com.radicaldevs.javadiscordapi.impl.InternalCommandListener;
 import com.radicaldevs.javadiscordapi.impl.InternalEventHandler;
 import com.radicaldevs.javadiscordapi.plugin.Plugin;
@@ -37,7 +40,7 @@ public class Bot {
 	/**
 	 * The bot's command prefixes.
 	 */
-	private List<String> commandPrefixes;
+	private PrefixList commandPrefixes;
 
 	/**
 	 * The discord API instance.
@@ -82,13 +85,13 @@ public class Bot {
 	 */
 	public Bot(@Nonnull String token, List<String> prefixes) {
 		this.token = token;
-		this.commandPrefixes = prefixes;
+		this.commandPrefixes = new PrefixList(prefixes);
 		this.commandManager = new CommandManager();
 		this.listenerManager = new ListenerManager();
 		this.pluginManager = new PluginManager(this.listenerManager, this.commandManager);
 		
 		this.internalCommandListener = new InternalCommandListener(this.commandPrefixes, this.commandManager);
-		this.internalEventHandler = new InternalEventHandler(this.listenerManager);
+		this.internalEventHandler = new InternalEventHandler(this.listenerManager, this.commandManager);
 
 		this.pluginDirectory = new File("./plugins");
 		
@@ -108,6 +111,28 @@ public class Bot {
 		return this.commandPrefixes;
 	}
 
+	/**
+	 * Get the command prefixes of individual guilds, which override the bot's
+	 * command prefixes.
+	 * 
+	 * @return The guild prefixes, or null if every guild uses the bot's command
+	 *         prefixes.
+	 */
+	public GuildPrefixes getGuildPrefixes() {
+		return this.internalCommandListener.getGuildPrefixes();
+	}
+
+	/**
+	 * Set the command prefixes of individual guilds, which override the bot's
+	 * command prefixes.
+	 * 
+	 * @param guildPrefixes The guild prefixes, or null if every guild should use
+	 *                      the bot's command prefixes.
+	 */
+	public void setGuildPrefixes(GuildPrefixes guildPrefixes) {
+		this.internalCommandListener.setGuildPrefixes(guildPrefixes);
+	}
+
 	/**
 	 * Get the api instance.
 	 * 
@@ -139,6 +164,20 @@ public class Bot {
 		return this.listenerManager;
 	}
 
+	/**
+	 * Get the bot's internal event handler.
+	 * 
+	 * <p>
+	 * This can be used to configure how events are staged before they are
+	 * dispatched to the bot's listeners.
+	 * </p>
+	 * 
+	 * @return The bot's internal event handler.
+	 */
+	public InternalEventHandler getInternalEventHandler() {
+		return this.internalEventHandler;
+	}
+
 	/**
 	 * Get the bot's plugin manager.
 	 * 
@@ -215,6 +254,7 @@ public class Bot {
 		builder.addEventListeners(this.internalEventHandler);
 		builder.disableCache(CacheFlag.STICKER, CacheFlag.EMOJI, CacheFlag.MEMBER_OVERRIDES);
 		builder.setBulkDeleteSplittingEnabled(false);
+		builder.setRawEventsEnabled(this.internalEventHandler.getRecorder() != null);
 
 		this.api = builder.build().awaitReady();
 		this.loadPlugins();
@@ -240,6 +280,14 @@ public class Bot {
 			this.api.shutdownNow();
 		else
 			this.api.shutdown();
+
+		this.listenerManager.flushBatches();
+
+		// Write the payloads that are still buffered, later payloads are not recorded.
+		GatewayRecorder recorder = this.internalEventHandler.getRecorder();
+
+		if (recorder != null)
+			recorder.close();
 	}
 
 }
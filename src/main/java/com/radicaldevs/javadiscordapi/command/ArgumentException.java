@@ -0,0 +1,26 @@
+package com.radicaldevs.javadiscordapi.command;
+
+/**
+ * An exception to denote a command argument is missing or not valid.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class ArgumentException extends Exception {
+
+	/**
+	 * The exception's serial UID.
+	 */
+	private static final long serialVersionUID = 4307592378457092617L;
+
+	/**
+	 * Construct a new argument exception.
+	 * 
+	 * @param message A message describing why the argument is not valid, which can
+	 *                be shown to the member that executed the command.
+	 */
+	public ArgumentException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,24 @@
+package com.radicaldevs.javadiscordapi.command;
+
+/**
+ * Parses a {@link CommandHandler} argument.
+ * 
+ * @param <T> The type of the parsed argument.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@FunctionalInterface
+public interface ArgumentParser<T> {
+
+	/**
+	 * Parse an argument.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The parsed argument.
+	 * @throws ArgumentException If the argument is not valid.
+	 */
+	T parse(String argument, CommandContext context) throws ArgumentException;
+
+}
@@ -0,0 +1,372 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import javax.annotation.Nonnull;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Role;
+import net.dv8tion.jda.api.entities.TextChannel;
+import net.dv8tion.jda.api.exceptions.ErrorResponseException;
+import net.dv8tion.jda.api.requests.ErrorResponse;
+
+/**
+ * The parsers of {@link CommandHandler} arguments, by their types.
+ * 
+ * <p>
+ * The following types are supported by default:
+ * </p>
+ * <ul>
+ * <li>{@link String}</li>
+ * <li>{@code int}, {@code long}, {@code double}, {@code boolean}, and their
+ * wrappers</li>
+ * <li>{@link Duration}, such as {@code 90s} or {@code 1h30m}</li>
+ * <li>{@link Member}, {@link Role}, and {@link TextChannel}, as mentions or
+ * ids</li>
+ * <li>Enums, by their names ignoring case</li>
+ * </ul>
+ * 
+ * <p>
+ * Parsers for other types can be {@link #register(Class, ArgumentParser)
+ * registered} before the commands that use them are constructed.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class ArgumentParsers {
+
+	/**
+	 * The registered parsers, by their types.
+	 */
+	private static final Map<Class<?>, ArgumentParser<?>> parsers = new ConcurrentHashMap<Class<?>, ArgumentParser<?>>();
+
+	static {
+		register(String.class, (argument, context) -> argument);
+		register(Integer.class, ArgumentParsers::parseInt);
+		register(int.class, ArgumentParsers::parseInt);
+		register(Long.class, ArgumentParsers::parseLong);
+		register(long.class, ArgumentParsers::parseLong);
+		register(Double.class, ArgumentParsers::parseDouble);
+		register(double.class, ArgumentParsers::parseDouble);
+		register(Boolean.class, ArgumentParsers::parseBoolean);
+		register(boolean.class, ArgumentParsers::parseBoolean);
+		register(Duration.class, ArgumentParsers::parseDuration);
+		register(Member.class, ArgumentParsers::parseMember);
+		register(Role.class, ArgumentParsers::parseRole);
+		register(TextChannel.class, ArgumentParsers::parseTextChannel);
+	}
+
+	/**
+	 * Register the parser of a type, replacing its current parser.
+	 * 
+	 * @param <T>    The type.
+	 * @param type   The type.
+	 * @param parser The parser.
+	 */
+	public static <T> void register(@Nonnull Class<T> type, @Nonnull ArgumentParser<? extends T> parser) {
+		parsers.put(type, parser);
+	}
+
+	/**
+	 * Get the parser of a type.
+	 * 
+	 * @param type The type.
+	 * @return The parser, or null if the type is not supported.
+	 */
+	public static ArgumentParser<?> get(@Nonnull Class<?> type) {
+		ArgumentParser<?> parser = parsers.get(type);
+
+		if (parser == null && type.isEnum())
+			parser = parsers.computeIfAbsent(type, ArgumentParsers::enumParser);
+
+		return parser;
+	}
+
+	/**
+	 * Parse a whole number.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The number.
+	 * @throws ArgumentException If the argument is not a whole number.
+	 */
+	private static Integer parseInt(String argument, CommandContext context) throws ArgumentException {
+		try {
+			return Integer.parseInt(argument);
+		} catch (NumberFormatException e) {
+			throw new ArgumentException("'" + argument + "' is not a whole number");
+		}
+	}
+
+	/**
+	 * Parse a long whole number.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The number.
+	 * @throws ArgumentException If the argument is not a whole number.
+	 */
+	private static Long parseLong(String argument, CommandContext context) throws ArgumentException {
+		try {
+			return Long.parseLong(argument);
+		} catch (NumberFormatException e) {
+			throw new ArgumentException("'" + argument + "' is not a whole number");
+		}
+	}
+
+	/**
+	 * Parse a number.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The number.
+	 * @throws ArgumentException If the argument is not a number.
+	 */
+	private static Double parseDouble(String argument, CommandContext context) throws ArgumentException {
+		try {
+			double value = Double.parseDouble(argument);
+
+			if (Double.isFinite(value))
+				return value;
+		} catch (NumberFormatException e) {
+			// Fall through to the exception below.
+		}
+
+		throw new ArgumentException("'" + argument + "' is not a number");
+	}
+
+	/**
+	 * Parse a boolean, such as {@code true}, {@code yes}, or {@code on}.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The boolean.
+	 * @throws ArgumentException If the argument is not a boolean.
+	 */
+	private static Boolean parseBoolean(String argument, CommandContext context) throws ArgumentException {
+		switch (argument.toLowerCase(Locale.ROOT)) {
+		case "true":
+		case "yes":
+		case "on":
+			return true;
+		case "false":
+		case "no":
+		case "off":
+			return false;
+		default:
+			throw new ArgumentException("'" + argument + "' is not yes or no");
+		}
+	}
+
+	/**
+	 * Parse a duration, made of numbers followed by the units {@code ms},
+	 * {@code s}, {@code m}, {@code h}, {@code d}, or {@code w}.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The duration.
+	 * @throws ArgumentException If the argument is not a duration.
+	 */
+	private static Duration parseDuration(String argument, CommandContext context) throws ArgumentException {
+		String lower = argument.toLowerCase(Locale.ROOT);
+		Duration duration = Duration.ZERO;
+		int i = 0;
+
+		if (lower.isEmpty())
+			throw new ArgumentException("'" + argument + "' is not a duration");
+
+		try {
+			while (i < lower.length()) {
+				int start = i;
+
+				while (i < lower.length() && Character.isDigit(lower.charAt(i)))
+					i++;
+
+				if (start == i)
+					throw new ArgumentException("'" + argument + "' is not a duration");
+
+				long amount = Long.parseLong(lower.substring(start, i));
+
+				if (lower.startsWith("ms", i)) {
+					duration = duration.plusMillis(amount);
+					i += 2;
+					continue;
+				}
+
+				char unit = i < lower.length() ? lower.charAt(i++) : 0;
+
+				switch (unit) {
+				case 's':
+					duration = duration.plusSeconds(amount);
+					break;
+				case 'm':
+					duration = duration.plusMinutes(amount);
+					break;
+				case 'h':
+					duration = duration.plusHours(amount);
+					break;
+				case 'd':
+					duration = duration.plusDays(amount);
+					break;
+				case 'w':
+					duration = duration.plusDays(Math.multiplyExact(amount, 7));
+					break;
+				default:
+					throw new ArgumentException("'" + argument + "' is not a duration, use a unit such as 30s, 5m, or 1h");
+				}
+			}
+		} catch (NumberFormatException | ArithmeticException e) {
+			throw new ArgumentException("'" + argument + "' is too long of a duration");
+		}
+
+		return duration;
+	}
+
+	/**
+	 * Parse a member mention or id.
+	 * 
+	 * <p>
+	 * Mentioned members are resolved from the message, since most members are not
+	 * cached by default. If the member is neither mentioned nor cached, it is
+	 * retrieved from discord, which blocks the thread executing the command.
+	 * </p>
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The member.
+	 * @throws ArgumentException If the argument is not a member of the guild.
+	 */
+	private static Member parseMember(String argument, CommandContext context) throws ArgumentException {
+		Guild guild = guild(context);
+		long id = snowflake(argument, "<@!", "<@");
+
+		if (context.getMessage() != null) {
+			for (Member mentioned : context.getMessage().getMentions().getMembers()) {
+				if (mentioned.getIdLong() == id)
+					return mentioned;
+			}
+		}
+
+		Member member = guild.getMemberById(id);
+
+		if (member != null)
+			return member;
+
+		try {
+			return guild.retrieveMemberById(id).complete();
+		} catch (ErrorResponseException e) {
+			if (e.getErrorResponse() == ErrorResponse.UNKNOWN_MEMBER || e.getErrorResponse() == ErrorResponse.UNKNOWN_USER)
+				throw new ArgumentException("'" + argument + "' is not a member");
+
+			throw e;
+		}
+	}
+
+	/**
+	 * Parse a role mention or id.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The role.
+	 * @throws ArgumentException If the argument is not a role of the guild.
+	 */
+	private static Role parseRole(String argument, CommandContext context) throws ArgumentException {
+		Role role = guild(context).getRoleById(snowflake(argument, "<@&"));
+
+		if (role == null)
+			throw new ArgumentException("'" + argument + "' is not a role");
+
+		return role;
+	}
+
+	/**
+	 * Parse a text channel mention or id.
+	 * 
+	 * @param argument The argument.
+	 * @param context  The context the command was executed in.
+	 * @return The text channel.
+	 * @throws ArgumentException If the argument is not a text channel of the
+	 *                           guild.
+	 */
+	private static TextChannel parseTextChannel(String argument, CommandContext context) throws ArgumentException {
+		TextChannel channel = guild(context).getTextChannelById(snowflake(argument, "<#"));
+
+		if (channel == null)
+			throw new ArgumentException("'" + argument + "' is not a text channel");
+
+		return channel;
+	}
+
+	/**
+	 * Create the parser of an enum.
+	 * 
+	 * @param type The enum's type.
+	 * @return The parser.
+	 */
+	private static ArgumentParser<?> enumParser(Class<?> type) {
+		Object[] constants = type.getEnumConstants();
+		String options = Arrays.stream(constants).map(constant -> ((Enum<?>) constant).name().toLowerCase(Locale.ROOT)).collect(Collectors.joining(", "));
+
+		return (argument, context) -> {
+			for (Object constant : constants) {
+				if (((Enum<?>) constant).name().equalsIgnoreCase(argument))
+					return constant;
+			}
+
+			throw new ArgumentException("'" + argument + "' is not one of " + options);
+		};
+	}
+
+	/**
+	 * Get the guild a command was executed in.
+	 * 
+	 * @param context The context the command was executed in.
+	 * @return The guild.
+	 * @throws ArgumentException If the command was not executed in a guild.
+	 */
+	private static Guild guild(CommandContext context) throws ArgumentException {
+		if (context.getGuild() == null)
+			throw new ArgumentException("This command can only be used in a server");
+
+		return context.getGuild();
+	}
+
+	/**
+	 * Parse the id of a mention, or a raw id.
+	 * 
+	 * @param argument The argument.
+	 * @param prefixes The prefixes of the mention, the longest first.
+	 * @return The id.
+	 * @throws ArgumentException If the argument is not a mention or an id.
+	 */
+	private static long snowflake(String argument, String... prefixes) throws ArgumentException {
+		String id = argument;
+
+		for (String prefix : prefixes) {
+			if (argument.startsWith(prefix) && argument.endsWith(">")) {
+				id = argument.substring(prefix.length(), argument.length() - 1);
+				break;
+			}
+		}
+
+		try {
+			return Long.parseUnsignedLong(id);
+		} catch (NumberFormatException e) {
+			throw new ArgumentException("'" + argument + "' is not a mention or an id");
+		}
+	}
+
+	/**
+	 * This class should not be instantiated.
+	 */
+	private ArgumentParsers() {
+	}
+
+}
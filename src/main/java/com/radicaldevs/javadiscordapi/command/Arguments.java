@@ -0,0 +1,290 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.util.Arrays;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A view over the arguments of a command.
+ * 
+ * <p>
+ * The arguments are stored as offsets into the original message, and are only
+ * copied into strings when they are accessed. Consuming an argument, such as
+ * the name of a subcommand, shifts the view instead of copying the remaining
+ * arguments. Views are immutable, so they can be shared between threads.
+ * </p>
+ * 
+ * <p>
+ * Arguments are separated by runs of whitespace, rather than by single spaces
+ * as they were by {@code split(" ")}, so doubled spaces and line breaks do not
+ * produce empty arguments that shift the positions of the others. An argument
+ * that is wrapped in double quotes can contain whitespace, and the quotes are
+ * not part of it. Quotes are only treated this way when the closing quote ends
+ * the argument, so text such as {@code "a b"c}, or an unterminated quote, is
+ * split at its whitespace as it was before.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class Arguments {
+
+	/**
+	 * The view of no arguments.
+	 */
+	private static final Arguments EMPTY = new Arguments("", new int[0], 0, 0);
+
+	/**
+	 * The content the arguments were tokenized from.
+	 */
+	private final String content;
+
+	/**
+	 * The start and end offsets of each argument in the content.
+	 */
+	private final int[] bounds;
+
+	/**
+	 * The total number of arguments in the content.
+	 */
+	private final int count;
+
+	/**
+	 * The index of the first argument in the view.
+	 */
+	private final int cursor;
+
+	/**
+	 * Construct a new argument view.
+	 * 
+	 * @param content The content the arguments were tokenized from.
+	 * @param bounds  The start and end offsets of each argument in the content.
+	 * @param count   The total number of arguments in the content.
+	 * @param cursor  The index of the first argument in the view.
+	 */
+	private Arguments(String content, int[] bounds, int count, int cursor) {
+		this.content = content;
+		this.bounds = bounds;
+		this.count = count;
+		this.cursor = cursor;
+	}
+
+	/**
+	 * Tokenize the arguments in some content.
+	 * 
+	 * @param content The content.
+	 * @param offset  The offset the arguments start at, such as the length of a
+	 *                command prefix.
+	 * @return The arguments.
+	 */
+	public static Arguments tokenize(@Nonnull String content, int offset) {
+		int length = content.length();
+		int[] bounds = null;
+		int count = 0;
+		int i = offset;
+
+		while (true) {
+			while (i < length && Character.isWhitespace(content.charAt(i)))
+				i++;
+
+			if (i >= length)
+				break;
+
+			int start;
+			int end;
+
+			int close = content.charAt(i) == '"' ? content.indexOf('"', i + 1) : -1;
+
+			// A quoted argument must be followed by whitespace, or the end of the content.
+			if (close != -1 && (close + 1 == length || Character.isWhitespace(content.charAt(close + 1)))) {
+				start = i + 1;
+				end = close;
+				i = close + 1;
+			} else {
+				start = i;
+
+				while (i < length && !Character.isWhitespace(content.charAt(i)))
+					i++;
+
+				end = i;
+			}
+
+			if (bounds == null)
+				bounds = new int[8];
+			else if (count * 2 == bounds.length)
+				bounds = Arrays.copyOf(bounds, bounds.length * 2);
+
+			bounds[count * 2] = start;
+			bounds[count * 2 + 1] = end;
+			count++;
+		}
+
+		return count == 0 ? EMPTY : new Arguments(content, bounds, count, 0);
+	}
+
+	/**
+	 * Create a view over arguments that have already been split.
+	 * 
+	 * <p>
+	 * The arguments are joined by single spaces, which is what the
+	 * {@link #remainder(int) remainder} of the view is made of.
+	 * </p>
+	 * 
+	 * @param args The arguments.
+	 * @return The arguments.
+	 */
+	public static Arguments of(@Nonnull String... args) {
+		if (args.length == 0)
+			return EMPTY;
+
+		StringBuilder content = new StringBuilder();
+		int[] bounds = new int[args.length * 2];
+
+		for (int i = 0; i < args.length; i++) {
+			if (i > 0)
+				content.append(' ');
+
+			bounds[i * 2] = content.length();
+			content.append(args[i]);
+			bounds[i * 2 + 1] = content.length();
+		}
+
+		return new Arguments(content.toString(), bounds, args.length, 0);
+	}
+
+	/**
+	 * Get the number of arguments in the view.
+	 * 
+	 * @return The number of arguments.
+	 */
+	public int size() {
+		return this.count - this.cursor;
+	}
+
+	/**
+	 * Check if there are no arguments in the view.
+	 * 
+	 * @return If the view is empty.
+	 */
+	public boolean isEmpty() {
+		return this.cursor >= this.count;
+	}
+
+	/**
+	 * Get an argument.
+	 * 
+	 * @param index The index of the argument in the view.
+	 * @return The argument.
+	 * @throws IndexOutOfBoundsException If there is no argument at the index.
+	 */
+	public String get(int index) {
+		int bound = this.bound(index);
+
+		return this.content.substring(this.bounds[bound], this.bounds[bound + 1]);
+	}
+
+	/**
+	 * Check if an argument matches a string, ignoring case, without copying the
+	 * argument.
+	 * 
+	 * @param index The index of the argument in the view.
+	 * @param value The string.
+	 * @return If the argument matches the string.
+	 * @throws IndexOutOfBoundsException If there is no argument at the index.
+	 */
+	public boolean matches(int index, @Nonnull String value) {
+		int bound = this.bound(index);
+		int length = this.bounds[bound + 1] - this.bounds[bound];
+
+		return length == value.length() && this.content.regionMatches(true, this.bounds[bound], value, 0, length);
+	}
+
+	/**
+	 * Get the content from the start of an argument to the end of the last one,
+	 * as it was written.
+	 * 
+	 * <p>
+	 * Unlike joining the arguments, the whitespace between them and the quotes of
+	 * quoted arguments are kept, such as for the reason of a ban, or a message to
+	 * send.
+	 * </p>
+	 * 
+	 * @param index The index of the first argument in the view.
+	 * @return The remaining content.
+	 * @throws IndexOutOfBoundsException If there is no argument at the index.
+	 */
+	public String remainder(int index) {
+		int first = this.bound(index);
+		int last = (this.count - 1) * 2;
+		int start = this.bounds[first];
+		int end = this.bounds[last + 1];
+
+		if (this.isQuoted(first))
+			start--;
+
+		if (this.isQuoted(last))
+			end++;
+
+		return this.content.substring(start, end);
+	}
+
+	/**
+	 * Get a view of the arguments after the first one.
+	 * 
+	 * @return The remaining arguments.
+	 * @throws IndexOutOfBoundsException If the view is empty.
+	 */
+	public Arguments shift() {
+		if (this.isEmpty())
+			throw new IndexOutOfBoundsException("There are no arguments to shift");
+
+		return new Arguments(this.content, this.bounds, this.count, this.cursor + 1);
+	}
+
+	/**
+	 * Copy the arguments in the view into an array.
+	 * 
+	 * @return The arguments.
+	 */
+	public String[] toArray() {
+		String[] args = new String[this.size()];
+
+		for (int i = 0; i < args.length; i++)
+			args[i] = this.get(i);
+
+		return args;
+	}
+
+	/**
+	 * Check if an argument was wrapped in quotes, which is the only way an
+	 * argument can be followed by a quote rather than whitespace.
+	 * 
+	 * @param bound The offset of the argument's start in the bounds.
+	 * @return If the argument was quoted.
+	 */
+	private boolean isQuoted(int bound) {
+		int end = this.bounds[bound + 1];
+
+		return end < this.content.length() && this.content.charAt(end) == '"';
+	}
+
+	/**
+	 * Get the offset of an argument's start in the bounds.
+	 * 
+	 * @param index The index of the argument in the view.
+	 * @return The offset of the argument's start.
+	 * @throws IndexOutOfBoundsException If there is no argument at the index.
+	 */
+	private int bound(int index) {
+		if (index < 0 || index >= this.size())
+			throw new IndexOutOfBoundsException("Index " + index + " out of bounds for " + this.size() + " arguments");
+
+		return (this.cursor + index) * 2;
+	}
+
+	@Override
+	public String toString() {
+		return Arrays.toString(this.toArray());
+	}
+
+}
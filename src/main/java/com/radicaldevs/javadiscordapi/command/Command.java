@@ -1,10 +1,26 @@
 package com.radicaldevs.javadiscordapi.command;
 
+import java.time.Duration;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Objects;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import javax.annotation.Nonnull;
 
 import com.radicaldevs.javadiscordapi.utils.Utils;
 
@@ -21,6 +37,29 @@ import net.dv8tion.jda.api.entities.MessageChannel;
  */
 public abstract class Command {
 
+	/**
+	 * The id that will be assigned to the next command.
+	 */
+	private static final AtomicLong nextId = new AtomicLong();
+
+	/**
+	 * Holds the executor of commands that are executed without a command manager,
+	 * so it is only created when it is first used.
+	 */
+	private static final class SharedExecutor {
+
+		/**
+		 * The executor.
+		 */
+		private static final ExecutorService INSTANCE = CommandManager.createDefaultCommandExecutor();
+
+	}
+
+	/**
+	 * The command's id.
+	 */
+	private final long id;
+
 	/**
 	 * The name of the command.
 	 */
@@ -43,8 +82,57 @@ public abstract class Command {
 
 	/**
 	 * A list of the command's sub-commands.
+	 * 
+	 * <p>
+	 * This list is never modified, a modified copy replaces it whenever a
+	 * subcommand is added or removed.
+	 * </p>
+	 */
+	private volatile List<Command> subCommands;
+
+	/**
+	 * The command's sub-commands, by their lower cased names and aliases.
+	 * 
+	 * <p>
+	 * The routes are rebuilt and replaced whenever a subcommand is added or
+	 * removed.
+	 * </p>
+	 */
+	private volatile Map<String, Command> subCommandRoutes;
+
+	/**
+	 * If the command is executed on the command executor, instead of the thread
+	 * that received it.
+	 */
+	private volatile boolean async;
+
+	/**
+	 * The maximum number of concurrent asynchronous executions of the command,
+	 * or 0 if there is no limit.
+	 */
+	private volatile int maxConcurrency;
+
+	/**
+	 * The permits of the concurrent asynchronous executions, or null if there is
+	 * no limit.
+	 */
+	private volatile Semaphore concurrencyPermits;
+
+	/**
+	 * The time an asynchronous execution can take before it is interrupted, or
+	 * null if there is no limit.
+	 */
+	private volatile Duration timeout;
+
+	/**
+	 * What the command's rate limit is shared by.
 	 */
-	private List<Command> subCommands;
+	private volatile RateLimitScope rateLimitScope;
+
+	/**
+	 * The command's rate limiter, or null if the command is not rate limited.
+	 */
+	private volatile RateLimiter rateLimiter;
 
 	/**
 	 * Construct a new command.
@@ -56,11 +144,13 @@ public abstract class Command {
 	 *                        command.
 	 */
 	public Command(String name, String description, List<String> aliases, Predicate<Member> permissionCheck) {
+		this.id = nextId.getAndIncrement();
 		this.name = name;
 		this.description = description;
 		this.aliases = aliases;
 		this.permissionCheck = permissionCheck;
-		this.subCommands = new ArrayList<Command>();
+		this.subCommands = Collections.emptyList();
+		this.subCommandRoutes = Collections.emptyMap();
 	}
 
 	/**
@@ -71,46 +161,260 @@ public abstract class Command {
 	 * @param channel    The channel the command was executed in.
 	 * @param rawMessage The raw command.
 	 * @param args       Arguments passed in with the command.
+	 * @deprecated Use
+	 *             {@link #execute(Guild, Member, MessageChannel, Message, Arguments, CommandManager)}
+	 *             to execute the command with a command manager's executor and
+	 *             permission cache.
 	 */
+	@Deprecated
 	public void internalCommandHandler(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args) {
-		// If the member does not have permission to use the command.
-		if (!permissionCheck.test(member)) {
-			this.onPermissionDenied(guild, member, channel, rawMessage, args);
-			return;
-		}
+		this.internalCommandHandler(guild, member, channel, rawMessage, Arguments.of(args));
+	}
 
-		// If no arguments were specified, send it to the command handler.
-		if (args.length == 0) {
-			Utils.info(member.getEffectiveName() + "(" + member.getIdLong() + ") used " + rawMessage.getContentRaw());
-			this.onCommand(guild, member, channel, rawMessage, args);
-			return;
+	/**
+	 * The command's internal command handler.
+	 * 
+	 * <p>
+	 * Asynchronous commands are executed on a shared executor, which is bounded
+	 * in the same way as a command manager's default executor.
+	 * </p>
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @param args       Arguments passed in with the command.
+	 * @deprecated Use
+	 *             {@link #execute(Guild, Member, MessageChannel, Message, Arguments, CommandManager)}
+	 *             to execute the command with a command manager's executor and
+	 *             permission cache.
+	 */
+	@Deprecated
+	public void internalCommandHandler(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args) {
+		this.execute(guild, member, channel, rawMessage, args, SharedExecutor.INSTANCE);
+	}
+
+	/**
+	 * Execute the command, or the subcommand matched by the arguments.
+	 * 
+	 * <p>
+	 * Subcommands are looked up by the first argument in a map of their names and
+	 * aliases, ignoring case. The remaining arguments are not copied until they
+	 * are passed to the command that handles them.
+	 * </p>
+	 * 
+	 * <p>
+	 * Permissions and rate limits are checked, and subcommands are matched, on the
+	 * calling thread.
+	 * If the command that handles the arguments is {@link #isAsync()
+	 * asynchronous}, it is then executed on the executor and the calling thread
+	 * returns immediately, otherwise it is executed on the calling thread and the
+	 * returned future is already complete.
+	 * </p>
+	 * 
+	 * <p>
+	 * The future of an asynchronous execution completes exceptionally with a
+	 * {@link RejectedExecutionException} if the command is at its limit of
+	 * concurrent executions, or the executor is saturated, and with a
+	 * {@link TimeoutException} if the command takes longer than its timeout.
+	 * These, and exceptions thrown by the command, are also logged.
+	 * </p>
+	 * 
+	 * <p>
+	 * Exceptions thrown by the command on the calling thread, including those of
+	 * its permission check, are logged and complete the future exceptionally
+	 * rather than being thrown, so a failing command does not affect the others.
+	 * </p>
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @param args       Arguments passed in with the command.
+	 * @param executor   The executor asynchronous commands are executed on.
+	 * @return A future of the value returned by the command's handler.
+	 */
+	public CompletableFuture<Boolean> execute(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args, @Nonnull ExecutorService executor) {
+		return this.execute(guild, member, channel, rawMessage, args, executor, null);
+	}
+
+	/**
+	 * Execute the command, or the subcommand matched by the arguments, on a
+	 * command manager's executor and with its permission cache.
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @param args       Arguments passed in with the command.
+	 * @param manager    The command manager.
+	 * @return A future of the value returned by the command's handler.
+	 * @see #execute(Guild, Member, MessageChannel, Message, Arguments,
+	 *      ExecutorService)
+	 */
+	public CompletableFuture<Boolean> execute(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args, @Nonnull CommandManager manager) {
+		return this.execute(guild, member, channel, rawMessage, args, manager.getCommandExecutor(), manager.getPermissionCache());
+	}
+
+	/**
+	 * Execute the command, or the subcommand matched by the arguments.
+	 * 
+	 * @param guild           The guild the command was executed in.
+	 * @param member          The member that executed the command.
+	 * @param channel         The channel the command was executed in.
+	 * @param rawMessage      The raw command.
+	 * @param args            Arguments passed in with the command.
+	 * @param executor        The executor asynchronous commands are executed on.
+	 * @param permissionCache The cache of permission checks, or null if they are
+	 *                        not cached.
+	 * @return A future of the value returned by the command's handler.
+	 */
+	private CompletableFuture<Boolean> execute(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args, ExecutorService executor, PermissionCache permissionCache) {
+		try {
+			return this.route(guild, member, channel, rawMessage, args, executor, permissionCache);
+		} catch (RuntimeException e) {
+			// Contain the failure to this execution, so it does not reach the listener that executed the command.
+			Utils.error("The " + this.name + " command threw an exception.");
+			e.printStackTrace();
+			return CompletableFuture.failedFuture(e);
 		}
+	}
 
-		// Check if any subcommands were matched, if so send it to the subcommand
-		// handler.
-		for (Command sub : this.subCommands) {
+	/**
+	 * Check the member's permission and the command's rate limit, and execute the
+	 * command, or route the arguments to the subcommand they match.
+	 * 
+	 * @param guild           The guild the command was executed in.
+	 * @param member          The member that executed the command.
+	 * @param channel         The channel the command was executed in.
+	 * @param rawMessage      The raw command.
+	 * @param args            Arguments passed in with the command.
+	 * @param executor        The executor asynchronous commands are executed on.
+	 * @param permissionCache The cache of permission checks, or null if they are
+	 *                        not cached.
+	 * @return A future of the value returned by the command's handler.
+	 */
+	private CompletableFuture<Boolean> route(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args, ExecutorService executor, PermissionCache permissionCache) {
+		// If the member does not have permission to use the command.
+		if (!(permissionCache != null && member != null ? permissionCache.test(this, member) : this.permissionCheck.test(member)))
+			return CompletableFuture.completedFuture(this.onPermissionDenied(guild, member, channel, rawMessage, args.toArray()));
+
+		// Check if a subcommand was matched, if so send it to the subcommand handler.
+		if (!args.isEmpty()) {
+			Command sub = this.subCommandRoutes.get(args.get(0).toLowerCase(Locale.ROOT));
 
-			// Check if the subcommand name matches.
-			if (sub.getName().equalsIgnoreCase(args[0])) {
+			if (sub != null) {
 				Utils.info(member.getEffectiveName() + "(" + member.getIdLong() + ") used " + rawMessage.getContentRaw());
-				sub.internalCommandHandler(guild, member, channel, rawMessage, Arrays.copyOfRange(args, 1, args.length));
-				return;
+				return sub.route(guild, member, channel, rawMessage, args.shift(), executor, permissionCache);
 			}
+		}
 
-			// Check if the subcommand aliases match.
-			for (String alias : sub.aliases) {
-				if (alias.equalsIgnoreCase(args[0])) {
-					Utils.info(member.getEffectiveName() + "(" + member.getIdLong() + ") used " + rawMessage.getContentRaw());
-					sub.internalCommandHandler(guild, member, channel, rawMessage, Arrays.copyOfRange(args, 1, args.length));
-					return;
-				}
-			}
+		// If the command is being used too often.
+		RateLimiter rateLimiter = this.rateLimiter;
 
+		if (rateLimiter != null) {
+			long wait = rateLimiter.tryAcquire(this.rateLimitScope.key(guild, member, channel, rawMessage));
+
+			if (wait > 0)
+				return CompletableFuture.completedFuture(this.onRateLimited(guild, member, channel, rawMessage, args.toArray(), Duration.ofNanos(wait)));
 		}
 
-		// If none of the subcommands matched the arguments.
+		// If no arguments were specified, or none of the subcommands matched them.
 		Utils.info(member.getEffectiveName() + "(" + member.getIdLong() + ") used " + rawMessage.getContentRaw());
-		this.onCommand(guild, member, channel, rawMessage, args);
+
+		if (!this.async)
+			return CompletableFuture.completedFuture(this.onCommand(guild, member, channel, rawMessage, args));
+
+		return this.executeAsync(executor, () -> this.onCommand(guild, member, channel, rawMessage, args));
+	}
+
+	/**
+	 * Pass the arguments of a command to
+	 * {@link #onCommand(Guild, Member, MessageChannel, Message, String[])}.
+	 * 
+	 * <p>
+	 * This is overridden by commands that need more than the split arguments,
+	 * such as the content a {@link Greedy} argument consumes.
+	 * </p>
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @param args       Arguments passed in with the command.
+	 * @return If the command was handled.
+	 */
+	boolean onCommand(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args) {
+		return this.onCommand(guild, member, channel, rawMessage, args.toArray());
+	}
+
+	/**
+	 * Execute the command's handler on an executor, within the command's
+	 * concurrency limit and timeout.
+	 * 
+	 * @param executor The executor.
+	 * @param handler  The command's handler.
+	 * @return A future of the value returned by the handler.
+	 */
+	private CompletableFuture<Boolean> executeAsync(ExecutorService executor, Supplier<Boolean> handler) {
+		CompletableFuture<Boolean> result = new CompletableFuture<Boolean>();
+		Semaphore permits = this.concurrencyPermits;
+		Duration timeout = this.timeout;
+		AtomicBoolean started = new AtomicBoolean();
+		Future<?> task;
+
+		if (permits != null && !permits.tryAcquire()) {
+			Utils.warn("The " + this.name + " command is at its limit of " + this.maxConcurrency + " concurrent executions, the execution was rejected.");
+			result.completeExceptionally(new RejectedExecutionException("The " + this.name + " command is at its limit of " + this.maxConcurrency + " concurrent executions"));
+			return result;
+		}
+
+		try {
+			task = executor.submit(() -> {
+				// The execution timed out, or was cancelled, before it started.
+				if (!started.compareAndSet(false, true))
+					return;
+
+				try {
+					result.complete(handler.get());
+				} catch (Throwable e) {
+					result.completeExceptionally(e);
+				} finally {
+					if (permits != null)
+						permits.release();
+				}
+			});
+		} catch (RejectedExecutionException e) {
+			if (permits != null)
+				permits.release();
+
+			Utils.warn("The command executor is saturated, the " + this.name + " command was rejected.");
+			result.completeExceptionally(e);
+			return result;
+		}
+
+		if (timeout != null)
+			result.orTimeout(timeout.toNanos(), TimeUnit.NANOSECONDS);
+
+		result.whenComplete((value, failure) -> {
+			// If the handler never started, it will not release its permit.
+			if (started.compareAndSet(false, true) && permits != null)
+				permits.release();
+
+			if (failure instanceof CompletionException && failure.getCause() != null)
+				failure = failure.getCause();
+
+			if (failure instanceof TimeoutException) {
+				// Interrupt the handler, if it started its permit is released when it returns.
+				task.cancel(true);
+				Utils.warn("The " + this.name + " command took longer than " + timeout.toMillis() + "ms, it was interrupted.");
+			} else if (failure != null) {
+				Utils.error("The " + this.name + " command threw an exception.");
+				failure.printStackTrace();
+			}
+		});
+
+		return result;
 	}
 
 	/**
@@ -137,6 +441,41 @@ public abstract class Command {
 	 */
 	public abstract boolean onPermissionDenied(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args);
 
+	/**
+	 * The method that will be invoked when the user executes a command, and has
+	 * exceeded its rate limit.
+	 * 
+	 * <p>
+	 * By default this does nothing, and returns false.
+	 * </p>
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @param args       Arguments passed in with the command.
+	 * @param retryAfter The time until the command can be used again.
+	 * @return If the command was handled.
+	 */
+	public boolean onRateLimited(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args, Duration retryAfter) {
+		return false;
+	}
+
+	/**
+	 * Get the command's id.
+	 * 
+	 * <p>
+	 * Every command is assigned a unique id when it is constructed. Two commands
+	 * are only equal if they have the same id, so a command's hash code does not
+	 * change when its subcommands do.
+	 * </p>
+	 * 
+	 * @return The command's id.
+	 */
+	public long getId() {
+		return this.id;
+	}
+
 	/**
 	 * Get the name of the command.
 	 * 
@@ -173,9 +512,132 @@ public abstract class Command {
 		return this.permissionCheck;
 	}
 
+	/**
+	 * Check if the command is executed on the command executor, instead of the
+	 * thread that received it.
+	 * 
+	 * @return If the command is asynchronous.
+	 */
+	public boolean isAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Set if the command is executed on the command executor, instead of the
+	 * thread that received it.
+	 * 
+	 * <p>
+	 * Commands are received on the gateway's event thread, so commands that are
+	 * slow, such as those that wait for requests to complete, should be
+	 * asynchronous so they do not delay other events. By default commands are
+	 * not asynchronous.
+	 * </p>
+	 * 
+	 * @param async If the command is asynchronous.
+	 * @see CommandManager#getCommandExecutor()
+	 */
+	public void setAsync(boolean async) {
+		this.async = async;
+	}
+
+	/**
+	 * Get the maximum number of concurrent asynchronous executions of the
+	 * command.
+	 * 
+	 * @return The maximum number of executions, or 0 if there is no limit.
+	 */
+	public int getMaxConcurrency() {
+		return this.maxConcurrency;
+	}
+
+	/**
+	 * Set the maximum number of concurrent asynchronous executions of the
+	 * command. Executions beyond the limit are rejected, rather than queued.
+	 * 
+	 * <p>
+	 * Note: Executions that are already running count towards the previous limit
+	 * only.
+	 * </p>
+	 * 
+	 * @param maxConcurrency The maximum number of executions, or 0 if there is no
+	 *                       limit.
+	 */
+	public synchronized void setMaxConcurrency(int maxConcurrency) {
+		if (maxConcurrency < 0)
+			throw new IllegalArgumentException("The maximum concurrency must not be negative");
+
+		this.maxConcurrency = maxConcurrency;
+		this.concurrencyPermits = maxConcurrency == 0 ? null : new Semaphore(maxConcurrency);
+	}
+
+	/**
+	 * Get the time an asynchronous execution of the command can take before it is
+	 * interrupted.
+	 * 
+	 * @return The timeout, or null if there is no limit.
+	 */
+	public Duration getTimeout() {
+		return this.timeout;
+	}
+
+	/**
+	 * Set the time an asynchronous execution of the command can take before it is
+	 * interrupted.
+	 * 
+	 * @param timeout The timeout, or null if there is no limit.
+	 */
+	public void setTimeout(Duration timeout) {
+		if (timeout != null && (timeout.isNegative() || timeout.isZero()))
+			throw new IllegalArgumentException("The timeout must be positive");
+
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Get what the command's rate limit is shared by.
+	 * 
+	 * @return The scope, or null if the command is not rate limited.
+	 */
+	public RateLimitScope getRateLimitScope() {
+		return this.rateLimiter == null ? null : this.rateLimitScope;
+	}
+
+	/**
+	 * Get the command's rate limiter.
+	 * 
+	 * @return The rate limiter, or null if the command is not rate limited.
+	 */
+	public RateLimiter getRateLimiter() {
+		return this.rateLimiter;
+	}
+
+	/**
+	 * Set the command's rate limit.
+	 * 
+	 * <p>
+	 * The rate limit is checked after the permission check, and before the
+	 * command is executed. A subcommand has its own rate limit, which is checked
+	 * instead of its parent's. A rate limiter can be shared by several commands,
+	 * so they count towards the same limit.
+	 * </p>
+	 * 
+	 * @param scope       What the rate limit is shared by.
+	 * @param rateLimiter The rate limiter, or null to remove the rate limit.
+	 * @see RateLimiter#cooldown(Duration)
+	 */
+	public void setRateLimit(@Nonnull RateLimitScope scope, RateLimiter rateLimiter) {
+		this.rateLimitScope = scope;
+		this.rateLimiter = rateLimiter;
+	}
+
 	/**
 	 * Get the command's subcommands.
 	 * 
+	 * <p>
+	 * Note: This is an immutable snapshot, use {@link #addSubCommand(Command)}
+	 * and {@link #removeSubCommand(Command)} to modify the subcommands.
+	 * </p>
+	 * 
 	 * @return The command's subcommands.
 	 */
 	public List<Command> getSubCommands() {
@@ -187,8 +649,12 @@ public abstract class Command {
 	 * 
 	 * @param command The subcommand to add.
 	 */
-	protected void addSubCommand(Command command) {
-		this.subCommands.add(command);
+	protected synchronized void addSubCommand(Command command) {
+		List<Command> subCommands = new ArrayList<Command>(this.subCommands);
+		subCommands.add(command);
+
+		this.subCommands = Collections.unmodifiableList(subCommands);
+		this.rebuildSubCommandRoutes();
 	}
 
 	/**
@@ -206,13 +672,40 @@ public abstract class Command {
 	 * 
 	 * @param command The subcommand to remove.
 	 */
-	protected void removeSubCommand(Command command) {
-		this.subCommands.remove(command);
+	protected synchronized void removeSubCommand(Command command) {
+		List<Command> subCommands = new ArrayList<Command>(this.subCommands);
+
+		if (!subCommands.remove(command))
+			return;
+
+		this.subCommands = Collections.unmodifiableList(subCommands);
+		this.rebuildSubCommandRoutes();
+	}
+
+	/**
+	 * Rebuild the subcommand routes, and publish them.
+	 * 
+	 * <p>
+	 * If several subcommands share a name or alias, the one that was added first
+	 * is routed to.
+	 * </p>
+	 */
+	private void rebuildSubCommandRoutes() {
+		Map<String, Command> routes = new HashMap<String, Command>();
+
+		for (Command sub : this.subCommands) {
+			routes.putIfAbsent(sub.getName().toLowerCase(Locale.ROOT), sub);
+
+			for (String alias : sub.getAliases())
+				routes.putIfAbsent(alias.toLowerCase(Locale.ROOT), sub);
+		}
+
+		this.subCommandRoutes = routes;
 	}
 
 	@Override
 	public int hashCode() {
-		return Objects.hash(this.name, this.description, this.aliases, this.permissionCheck, this.subCommands);
+		return Long.hashCode(this.id);
 	}
 
 	@Override
@@ -220,13 +713,7 @@ public abstract class Command {
 		if (!(obj instanceof Command))
 			return false;
 
-		Command that = (Command) obj;
-
-		return this.name.equals(that.name) 
-			&& this.description.equals(that.description)
-			&& this.aliases.equals(that.aliases) 
-			&& this.permissionCheck.equals(that.permissionCheck)
-			&& this.subCommands.equals(that.subCommands);
+		return this.id == ((Command) obj).id;
 	}
 
 }
@@ -0,0 +1,87 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+
+/**
+ * The context a command was executed in.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class CommandContext {
+
+	/**
+	 * The guild the command was executed in.
+	 */
+	private final Guild guild;
+
+	/**
+	 * The member that executed the command.
+	 */
+	private final Member member;
+
+	/**
+	 * The channel the command was executed in.
+	 */
+	private final MessageChannel channel;
+
+	/**
+	 * The raw command.
+	 */
+	private final Message message;
+
+	/**
+	 * Construct a new command context.
+	 * 
+	 * @param guild   The guild the command was executed in.
+	 * @param member  The member that executed the command.
+	 * @param channel The channel the command was executed in.
+	 * @param message The raw command.
+	 */
+	public CommandContext(Guild guild, Member member, MessageChannel channel, Message message) {
+		this.guild = guild;
+		this.member = member;
+		this.channel = channel;
+		this.message = message;
+	}
+
+	/**
+	 * Get the guild the command was executed in.
+	 * 
+	 * @return The guild.
+	 */
+	public Guild getGuild() {
+		return this.guild;
+	}
+
+	/**
+	 * Get the member that executed the command.
+	 * 
+	 * @return The member.
+	 */
+	public Member getMember() {
+		return this.member;
+	}
+
+	/**
+	 * Get the channel the command was executed in.
+	 * 
+	 * @return The channel.
+	 */
+	public MessageChannel getChannel() {
+		return this.channel;
+	}
+
+	/**
+	 * Get the raw command.
+	 * 
+	 * @return The message.
+	 */
+	public Message getMessage() {
+		return this.message;
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static java.lang.annotation.ElementType.METHOD;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation used to denote the method that handles a {@link TypedCommand}.
+ * 
+ * <p>
+ * The method's parameters declare the command's arguments, in order. The first
+ * parameter can be a {@link CommandContext}, which is not an argument. The
+ * supported argument types are listed in {@link ArgumentParsers}.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@Target(METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface CommandHandler {
+
+}
@@ -1,35 +1,165 @@
 package com.radicaldevs.javadiscordapi.command;
 
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
 
 /**
  * A command management utility.
  * 
+ * <p>
+ * The commands are published as immutable snapshots, so they can be read from
+ * any thread without locking while commands are being added or removed.
+ * </p>
+ * 
  * @author Myles Deslippe
  * @since 0.0.3-SNAPSHOT
  */
 public class CommandManager {
 
+	/**
+	 * The commands returned when no commands match a label.
+	 */
+	private static final Command[] NO_COMMANDS = new Command[0];
+
 	/**
 	 * The commands being managed by this manager.
+	 * 
+	 * <p>
+	 * This list is never modified, a modified copy replaces it whenever a command
+	 * is added or removed.
+	 * </p>
+	 */
+	private volatile List<Command> commands;
+
+	/**
+	 * The commands indexed by their names and aliases, in registration order.
+	 * 
+	 * <p>
+	 * The index is rebuilt and replaced whenever a command is added or removed.
+	 * </p>
 	 */
-	private List<Command> commands;
+	private volatile Map<String, Command[]> index;
+
+	/**
+	 * If labels are matched regardless of their case.
+	 */
+	private volatile boolean caseInsensitive;
+
+	/**
+	 * The executor that runs asynchronous commands.
+	 */
+	private volatile ExecutorService commandExecutor;
+
+	/**
+	 * The cache of the commands' permission checks, or null if they are not
+	 * cached.
+	 */
+	private volatile PermissionCache permissionCache;
 
 	/**
 	 * Construct a new command manager.
 	 */
 	public CommandManager() {
-		this.commands = new ArrayList<Command>();
+		this.commands = Collections.emptyList();
+		this.index = Collections.emptyMap();
+		this.commandExecutor = createDefaultCommandExecutor();
+	}
+
+	/**
+	 * Create the default executor for asynchronous commands.
+	 * 
+	 * <p>
+	 * A pool of daemon threads, one per processor, with a queue of 1024
+	 * commands. Commands that do not fit in the queue are rejected, rather than
+	 * delaying the thread that received them. Idle threads are stopped after a
+	 * minute.
+	 * </p>
+	 * 
+	 * @return The executor.
+	 */
+	static ExecutorService createDefaultCommandExecutor() {
+		int threads = Runtime.getRuntime().availableProcessors();
+		AtomicInteger threadCount = new AtomicInteger();
+
+		ThreadPoolExecutor executor = new ThreadPoolExecutor(threads, threads, 1, TimeUnit.MINUTES, new ArrayBlockingQueue<Runnable>(1024), runnable -> {
+			Thread thread = new Thread(runnable, "Command-Executor-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
+
+		executor.allowCoreThreadTimeOut(true);
+		return executor;
+	}
+
+	/**
+	 * Get the executor that runs asynchronous commands.
+	 * 
+	 * @return The executor.
+	 * @see Command#setAsync(boolean)
+	 */
+	public ExecutorService getCommandExecutor() {
+		return this.commandExecutor;
+	}
+
+	/**
+	 * Set the executor that runs asynchronous commands.
+	 * 
+	 * <p>
+	 * Note: The previous executor will not be shut down.
+	 * </p>
+	 * 
+	 * @param commandExecutor The executor.
+	 * @see Command#setAsync(boolean)
+	 */
+	public void setCommandExecutor(@Nonnull ExecutorService commandExecutor) {
+		this.commandExecutor = commandExecutor;
+	}
+
+	/**
+	 * Get the cache of the commands' permission checks.
+	 * 
+	 * @return The permission cache, or null if permission checks are not cached.
+	 */
+	public PermissionCache getPermissionCache() {
+		return this.permissionCache;
+	}
+
+	/**
+	 * Set the cache of the commands' permission checks.
+	 * 
+	 * <p>
+	 * The cache is invalidated by the {@link com.radicaldevs.javadiscordapi.Bot
+	 * Bot} when roles, members, or permission overrides are updated. By default
+	 * permission checks are not cached.
+	 * </p>
+	 * 
+	 * @param permissionCache The permission cache, or null to not cache
+	 *                        permission checks.
+	 */
+	public void setPermissionCache(PermissionCache permissionCache) {
+		this.permissionCache = permissionCache;
 	}
 
 	/**
 	 * Get the command's that this command manager is managing.
 	 * 
 	 * <p>
-	 * Note: Modifications to this list will affect the original.
+	 * Note: This is an immutable snapshot, it will not reflect commands that are
+	 * added or removed later. Use {@link #addCommand(Command)} and
+	 * {@link #removeCommand(Command)} to modify the commands.
 	 * </p>
 	 * 
 	 * @return The commands.
@@ -38,6 +168,53 @@ public class CommandManager {
 		return this.commands;
 	}
 
+	/**
+	 * Get the commands whose name or one of whose aliases matches a label, in the
+	 * order they were added.
+	 * 
+	 * <p>
+	 * Note: The names and aliases of a command are indexed when it is added, so
+	 * aliases added to a command afterwards will not match until it is added
+	 * again.
+	 * </p>
+	 * 
+	 * @param label The label, such as the first word of a command.
+	 * @return The matching commands.
+	 */
+	public Command[] getCommands(String label) {
+		Command[] commands = this.index.get(this.caseInsensitive ? label.toLowerCase(Locale.ROOT) : label);
+
+		return commands == null ? NO_COMMANDS : commands;
+	}
+
+	/**
+	 * Check if labels are matched regardless of their case.
+	 * 
+	 * @return If labels are case insensitive.
+	 */
+	public boolean isCaseInsensitive() {
+		return this.caseInsensitive;
+	}
+
+	/**
+	 * Set if labels are matched regardless of their case.
+	 * 
+	 * <p>
+	 * By default labels are case sensitive.
+	 * </p>
+	 * 
+	 * @param caseInsensitive If labels are case insensitive.
+	 */
+	public synchronized void setCaseInsensitive(boolean caseInsensitive) {
+		if (this.caseInsensitive == caseInsensitive)
+			return;
+
+		// Clear the index first, so it is never used with the wrong case.
+		this.index = Collections.emptyMap();
+		this.caseInsensitive = caseInsensitive;
+		this.rebuildIndex();
+	}
+
 	/**
 	 * Add a command to the command manager.
 	 * 
@@ -47,8 +224,12 @@ public class CommandManager {
 	 * 
 	 * @param command The command to add.
 	 */
-	public void addCommand(@Nonnull Command command) {
-		this.commands.add(command);
+	public synchronized void addCommand(@Nonnull Command command) {
+		List<Command> commands = new ArrayList<Command>(this.commands);
+		commands.add(command);
+
+		this.commands = Collections.unmodifiableList(commands);
+		this.rebuildIndex();
 	}
 
 	/**
@@ -66,8 +247,50 @@ public class CommandManager {
 	 * 
 	 * @param command The command to remove.
 	 */
-	public void removeCommand(Command command) {
-		this.commands.remove(command);
+	public synchronized void removeCommand(Command command) {
+		List<Command> commands = new ArrayList<Command>(this.commands);
+
+		if (!commands.remove(command))
+			return;
+
+		this.commands = Collections.unmodifiableList(commands);
+		this.rebuildIndex();
+	}
+
+	/**
+	 * Rebuild the command index, and publish it.
+	 */
+	private void rebuildIndex() {
+		Map<String, List<Command>> labels = new HashMap<String, List<Command>>();
+
+		for (Command command : this.commands) {
+			// A command whose name and alias are the same only matches once.
+			Set<String> commandLabels = new LinkedHashSet<String>();
+			commandLabels.add(this.normalize(command.getName()));
+
+			for (String alias : command.getAliases())
+				commandLabels.add(this.normalize(alias));
+
+			for (String label : commandLabels)
+				labels.computeIfAbsent(label, key -> new ArrayList<Command>(1)).add(command);
+		}
+
+		Map<String, Command[]> index = new HashMap<String, Command[]>(labels.size() * 2);
+
+		for (Map.Entry<String, List<Command>> entry : labels.entrySet())
+			index.put(entry.getKey(), entry.getValue().toArray(NO_COMMANDS));
+
+		this.index = index;
+	}
+
+	/**
+	 * Normalize a label for the index.
+	 * 
+	 * @param label The label.
+	 * @return The normalized label.
+	 */
+	private String normalize(String label) {
+		return this.caseInsensitive ? label.toLowerCase(Locale.ROOT) : label;
 	}
 
 }
@@ -0,0 +1,27 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation used to give a {@link CommandHandler} argument a default, which
+ * is used when the argument is not specified.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@Target(PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Default {
+
+	/**
+	 * The default value, which is parsed the same way as a specified argument.
+	 * 
+	 * @return The default value.
+	 */
+	String value();
+
+}
@@ -0,0 +1,24 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static java.lang.annotation.ElementType.PARAMETER;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * The annotation used to denote a {@link CommandHandler} argument that consumes
+ * the rest of the arguments, as they were written.
+ * 
+ * <p>
+ * Only the last parameter can be greedy, and it must be a {@link String}.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@Target(PARAMETER)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Greedy {
+
+}
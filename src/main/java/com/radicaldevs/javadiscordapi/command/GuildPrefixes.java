@@ -0,0 +1,221 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import javax.annotation.Nonnull;
+
+import org.simpleyaml.configuration.file.YamlFile;
+
+import com.radicaldevs.javadiscordapi.file.yaml.YamlConfigurationFile;
+
+/**
+ * Command prefixes for individual guilds, which override the bot's prefixes.
+ * 
+ * <p>
+ * The prefixes are stored in a YAML file, under {@code guilds.<guild id>}. The
+ * matchers of the guilds are kept in a bounded concurrent cache, so matching a
+ * message does not take a lock, read the configuration, or rebuild a matcher.
+ * The cache also remembers guilds that do not have their own prefixes.
+ * </p>
+ * 
+ * <p>
+ * The configuration is only locked while it is read or modified, the file is
+ * written after the lock is released.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class GuildPrefixes {
+
+	/**
+	 * The file the prefixes are stored in.
+	 */
+	private final YamlConfigurationFile file;
+
+	/**
+	 * The maximum number of cached matchers.
+	 */
+	private final int cacheSize;
+
+	/**
+	 * The cached matchers, by guild id. Guilds that do not have their own prefixes
+	 * map to an empty optional. Matchers are only added and removed while the
+	 * configuration is locked, so a removed matcher is never added back stale.
+	 */
+	private final ConcurrentHashMap<Long, Optional<PrefixMatcher>> cache;
+
+	/**
+	 * Guards the configuration, which is not thread safe.
+	 */
+	private final Object configurationLock;
+
+	/**
+	 * Guards writing the file.
+	 */
+	private final Object saveLock;
+
+	/**
+	 * The number of times the configuration has been modified, guarded by the
+	 * configuration lock.
+	 */
+	private long modifications;
+
+	/**
+	 * The modification that was last written to the file, guarded by the save
+	 * lock.
+	 */
+	private long saved;
+
+	/**
+	 * Construct new guild prefixes.
+	 * 
+	 * <p>
+	 * The file is created if it does not exist.
+	 * </p>
+	 * 
+	 * @param file      The file the prefixes are stored in.
+	 * @param cacheSize The maximum number of cached matchers.
+	 * @throws IOException If the file could not be created or loaded.
+	 */
+	public GuildPrefixes(@Nonnull YamlConfigurationFile file, int cacheSize) throws IOException {
+		if (cacheSize < 1)
+			throw new IllegalArgumentException("The cache size must be positive");
+
+		this.file = file;
+		this.cacheSize = cacheSize;
+		this.cache = new ConcurrentHashMap<Long, Optional<PrefixMatcher>>();
+		this.configurationLock = new Object();
+		this.saveLock = new Object();
+
+		this.file.createIfNotExists();
+		this.file.load();
+	}
+
+	/**
+	 * Get the file the prefixes are stored in.
+	 * 
+	 * @return The file.
+	 */
+	public YamlConfigurationFile getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Get the maximum number of cached matchers.
+	 * 
+	 * @return The cache size.
+	 */
+	public int getCacheSize() {
+		return this.cacheSize;
+	}
+
+	/**
+	 * Get the matcher for a guild's prefixes.
+	 * 
+	 * <p>
+	 * When the cache is full, arbitrary matchers are evicted to make room, which
+	 * costs a rebuild when their guilds are matched again.
+	 * </p>
+	 * 
+	 * @param guildId The guild's id.
+	 * @return The matcher, or null if the guild does not have its own prefixes.
+	 */
+	public PrefixMatcher getMatcher(long guildId) {
+		Optional<PrefixMatcher> matcher = this.cache.get(guildId);
+
+		if (matcher != null)
+			return matcher.orElse(null);
+
+		synchronized (this.configurationLock) {
+			matcher = this.cache.get(guildId);
+
+			if (matcher == null) {
+				List<String> prefixes = this.getPrefixes(guildId);
+
+				matcher = prefixes == null ? Optional.empty() : Optional.of(PrefixMatcher.of(prefixes));
+				this.cache.put(guildId, matcher);
+
+				for (Iterator<Long> iterator = this.cache.keySet().iterator(); this.cache.size() > this.cacheSize && iterator.hasNext();) {
+					if (iterator.next() != guildId)
+						iterator.remove();
+				}
+			}
+		}
+
+		return matcher.orElse(null);
+	}
+
+	/**
+	 * Get a guild's prefixes.
+	 * 
+	 * @param guildId The guild's id.
+	 * @return The prefixes, or null if the guild does not have its own prefixes.
+	 */
+	public List<String> getPrefixes(long guildId) {
+		synchronized (this.configurationLock) {
+			YamlFile configuration = this.file.getConfiguration();
+			String path = path(guildId);
+
+			if (!configuration.contains(path))
+				return null;
+
+			return Collections.unmodifiableList(new ArrayList<String>(configuration.getStringList(path)));
+		}
+	}
+
+	/**
+	 * Set a guild's prefixes, and save them.
+	 * 
+	 * <p>
+	 * The new prefixes are used as soon as they are set, before they are saved.
+	 * If prefixes are set concurrently, the file is left with the latest of them.
+	 * </p>
+	 * 
+	 * @param guildId  The guild's id.
+	 * @param prefixes The prefixes, or null to use the bot's prefixes.
+	 * @throws IOException If the prefixes could not be saved.
+	 */
+	public void setPrefixes(long guildId, List<String> prefixes) throws IOException {
+		long modification;
+		String contents;
+
+		synchronized (this.configurationLock) {
+			YamlFile configuration = this.file.getConfiguration();
+
+			configuration.set(path(guildId), prefixes == null ? null : new ArrayList<String>(prefixes));
+			this.cache.remove(guildId);
+
+			modification = ++this.modifications;
+			contents = configuration.saveToString();
+		}
+
+		synchronized (this.saveLock) {
+			// A later modification has already been written.
+			if (modification < this.saved)
+				return;
+
+			Files.write(this.file.toPath(), contents.getBytes(StandardCharsets.UTF_8));
+			this.saved = modification;
+		}
+	}
+
+	/**
+	 * Get the path of a guild's prefixes in the configuration.
+	 * 
+	 * @param guildId The guild's id.
+	 * @return The path.
+	 */
+	private static String path(long guildId) {
+		return "guilds." + Long.toUnsignedString(guildId);
+	}
+
+}
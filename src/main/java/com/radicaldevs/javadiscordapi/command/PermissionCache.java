@@ -0,0 +1,231 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.annotation.Nonnull;
+
+import net.dv8tion.jda.api.entities.Member;
+
+/**
+ * A cache of the results of commands' permission checks, by guild, member, and
+ * command.
+ * 
+ * <p>
+ * The results are invalidated when roles, members, or permission overrides of
+ * their guild are updated, and expire after a time so checks that depend on
+ * anything else are eventually run again.
+ * </p>
+ * 
+ * <p>
+ * A check that is running while its guild or member is invalidated does not
+ * cache its result, so a result computed from stale roles is never cached.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class PermissionCache {
+
+	/**
+	 * The number of results that are cached between sweeps of the expired
+	 * results.
+	 */
+	private static final int SWEEP_INTERVAL = 4096;
+
+	/**
+	 * A cached result of a permission check.
+	 */
+	private static final class Result {
+
+		/**
+		 * If the member has permission to use the command.
+		 */
+		private final boolean permitted;
+
+		/**
+		 * The time at which the result expires.
+		 */
+		private final long expiresAt;
+
+		/**
+		 * Construct a new result.
+		 * 
+		 * @param permitted If the member has permission to use the command.
+		 * @param expiresAt The time at which the result expires.
+		 */
+		private Result(boolean permitted, long expiresAt) {
+			this.permitted = permitted;
+			this.expiresAt = expiresAt;
+		}
+
+	}
+
+	/**
+	 * The cached results, by guild id, member id, and command id.
+	 */
+	private final Map<Long, Map<Long, Map<Long, Result>>> guilds;
+
+	/**
+	 * The time a result is cached for.
+	 */
+	private final Duration expireAfter;
+
+	/**
+	 * The number of times the cache has been invalidated.
+	 */
+	private final AtomicLong generation;
+
+	/**
+	 * The number of results cached since the last sweep.
+	 */
+	private final AtomicInteger cachedSinceSweep;
+
+	/**
+	 * Construct a new permission cache.
+	 * 
+	 * @param expireAfter The time a result is cached for.
+	 */
+	public PermissionCache(@Nonnull Duration expireAfter) {
+		if (expireAfter.isNegative() || expireAfter.isZero())
+			throw new IllegalArgumentException("The expiry must be positive");
+
+		this.guilds = new ConcurrentHashMap<Long, Map<Long, Map<Long, Result>>>();
+		this.expireAfter = expireAfter;
+		this.generation = new AtomicLong();
+		this.cachedSinceSweep = new AtomicInteger();
+	}
+
+	/**
+	 * Get the time a result is cached for.
+	 * 
+	 * @return The expiry.
+	 */
+	public Duration getExpireAfter() {
+		return this.expireAfter;
+	}
+
+	/**
+	 * Check if a member has permission to use a command, running the command's
+	 * permission check only if its result is not cached.
+	 * 
+	 * @param command The command.
+	 * @param member  The member.
+	 * @return If the member has permission to use the command.
+	 */
+	public boolean test(@Nonnull Command command, @Nonnull Member member) {
+		long guildId = member.getGuild().getIdLong();
+		long memberId = member.getIdLong();
+		long now = System.nanoTime();
+
+		Map<Long, Map<Long, Result>> members = this.guilds.get(guildId);
+		Map<Long, Result> commands = members == null ? null : members.get(memberId);
+		Result result = commands == null ? null : commands.get(command.getId());
+
+		if (result != null && result.expiresAt - now > 0)
+			return result.permitted;
+
+		long generation = this.generation.get();
+		boolean permitted = command.getPermissionCheck().test(member);
+
+		// Only cache the result if nothing was invalidated while it was computed.
+		if (this.generation.get() == generation) {
+			Result cached = new Result(permitted, now + this.expireAfter.toNanos());
+			commands = this.guilds.computeIfAbsent(guildId, key -> new ConcurrentHashMap<Long, Map<Long, Result>>())
+				.computeIfAbsent(memberId, key -> new ConcurrentHashMap<Long, Result>());
+			commands.put(command.getId(), cached);
+
+			// Something may have been invalidated before the result was stored.
+			if (this.generation.get() != generation)
+				commands.remove(command.getId(), cached);
+			else if (this.cachedSinceSweep.incrementAndGet() >= SWEEP_INTERVAL) {
+				this.cachedSinceSweep.set(0);
+				this.cleanUp();
+			}
+		}
+
+		return permitted;
+	}
+
+	/**
+	 * Invalidate the results of a guild.
+	 * 
+	 * @param guildId The guild's id.
+	 */
+	public void invalidate(long guildId) {
+		this.generation.incrementAndGet();
+		this.guilds.remove(guildId);
+	}
+
+	/**
+	 * Invalidate the results of a member of a guild.
+	 * 
+	 * @param guildId  The guild's id.
+	 * @param memberId The member's id.
+	 */
+	public void invalidate(long guildId, long memberId) {
+		this.generation.incrementAndGet();
+		Map<Long, Map<Long, Result>> members = this.guilds.get(guildId);
+
+		if (members != null)
+			members.remove(memberId);
+	}
+
+	/**
+	 * Invalidate every result.
+	 */
+	public void invalidateAll() {
+		this.generation.incrementAndGet();
+		this.guilds.clear();
+	}
+
+	/**
+	 * Get the number of cached results, including those that have expired but
+	 * have not been removed yet.
+	 * 
+	 * @return The number of results.
+	 */
+	public int size() {
+		int size = 0;
+
+		for (Map<Long, Map<Long, Result>> members : this.guilds.values()) {
+			for (Map<Long, Result> commands : members.values())
+				size += commands.size();
+		}
+
+		return size;
+	}
+
+	/**
+	 * Remove the expired results.
+	 * 
+	 * <p>
+	 * Note: This is done automatically as results are cached, so it only needs to
+	 * be called to release memory sooner.
+	 * </p>
+	 */
+	public void cleanUp() {
+		long now = System.nanoTime();
+
+		for (Iterator<Map<Long, Map<Long, Result>>> guilds = this.guilds.values().iterator(); guilds.hasNext();) {
+			Map<Long, Map<Long, Result>> members = guilds.next();
+
+			for (Iterator<Map<Long, Result>> iterator = members.values().iterator(); iterator.hasNext();) {
+				Map<Long, Result> commands = iterator.next();
+				commands.values().removeIf(result -> result.expiresAt - now <= 0);
+
+				// A result cached while the member is removed is lost, which is harmless.
+				if (commands.isEmpty())
+					iterator.remove();
+			}
+
+			if (members.isEmpty())
+				guilds.remove();
+		}
+	}
+
+}
@@ -0,0 +1,112 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A list of command prefixes, which keeps a {@link PrefixMatcher} for them up
+ * to date.
+ * 
+ * <p>
+ * The prefixes are published as immutable snapshots, so messages can be
+ * matched against them from any thread while the list is being modified. Every
+ * modification rebuilds the matcher, so prefixes should be modified rarely.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class PrefixList extends AbstractList<String> implements RandomAccess {
+
+	/**
+	 * The prefixes.
+	 * 
+	 * <p>
+	 * This list is never modified, a modified copy replaces it whenever a prefix
+	 * is added or removed.
+	 * </p>
+	 */
+	private volatile List<String> prefixes;
+
+	/**
+	 * The matcher for the prefixes.
+	 */
+	private volatile PrefixMatcher matcher;
+
+	/**
+	 * Construct a new prefix list.
+	 * 
+	 * @param prefixes The initial prefixes.
+	 */
+	public PrefixList(@Nonnull Collection<String> prefixes) {
+		this.publish(new ArrayList<String>(prefixes));
+	}
+
+	/**
+	 * Get the matcher for the prefixes.
+	 * 
+	 * @return The matcher.
+	 */
+	public PrefixMatcher getMatcher() {
+		return this.matcher;
+	}
+
+	@Override
+	public String get(int index) {
+		return this.prefixes.get(index);
+	}
+
+	@Override
+	public int size() {
+		return this.prefixes.size();
+	}
+
+	@Override
+	public synchronized String set(int index, String prefix) {
+		List<String> prefixes = new ArrayList<String>(this.prefixes);
+		String previous = prefixes.set(index, Objects.requireNonNull(prefix, "prefix"));
+
+		this.publish(prefixes);
+		return previous;
+	}
+
+	@Override
+	public synchronized void add(int index, String prefix) {
+		List<String> prefixes = new ArrayList<String>(this.prefixes);
+		prefixes.add(index, Objects.requireNonNull(prefix, "prefix"));
+
+		this.publish(prefixes);
+		this.modCount++;
+	}
+
+	@Override
+	public synchronized String remove(int index) {
+		List<String> prefixes = new ArrayList<String>(this.prefixes);
+		String previous = prefixes.remove(index);
+
+		this.publish(prefixes);
+		this.modCount++;
+		return previous;
+	}
+
+	/**
+	 * Replace the prefixes, and rebuild the matcher.
+	 * 
+	 * @param prefixes The new prefixes.
+	 */
+	private void publish(List<String> prefixes) {
+		for (String prefix : prefixes)
+			Objects.requireNonNull(prefix, "prefix");
+
+		this.prefixes = Collections.unmodifiableList(prefixes);
+		this.matcher = PrefixMatcher.of(prefixes);
+	}
+
+}
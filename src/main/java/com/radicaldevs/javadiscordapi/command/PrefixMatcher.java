@@ -0,0 +1,231 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.util.Collection;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Matches the command prefix a message starts with.
+ * 
+ * <p>
+ * The prefixes are stored in a trie, so a message is matched against every
+ * prefix in a single pass over its first characters. Most messages are not
+ * commands, so the first character of a message is checked against a bitmap
+ * of the characters the prefixes start with before the trie is walked.
+ * </p>
+ * 
+ * <p>
+ * Prefixes are lower cased when the matcher is built, and messages are matched
+ * against them as they are.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class PrefixMatcher {
+
+	/**
+	 * A node of the trie.
+	 */
+	private static final class Node {
+
+		/**
+		 * The characters of the node's children, sorted.
+		 */
+		private final char[] keys;
+
+		/**
+		 * The node's children, in the same order as their characters.
+		 */
+		private final Node[] children;
+
+		/**
+		 * If a prefix ends at the node.
+		 */
+		private final boolean terminal;
+
+		/**
+		 * Construct a new node.
+		 * 
+		 * @param keys     The characters of the node's children, sorted.
+		 * @param children The node's children.
+		 * @param terminal If a prefix ends at the node.
+		 */
+		private Node(char[] keys, Node[] children, boolean terminal) {
+			this.keys = keys;
+			this.children = children;
+			this.terminal = terminal;
+		}
+
+		/**
+		 * Get the child of a character.
+		 * 
+		 * @param key The character.
+		 * @return The child, or null if there is none.
+		 */
+		private Node child(char key) {
+			int low = 0;
+			int high = this.keys.length - 1;
+
+			while (low <= high) {
+				int middle = (low + high) >>> 1;
+				char current = this.keys[middle];
+
+				if (current < key)
+					low = middle + 1;
+				else if (current > key)
+					high = middle - 1;
+				else
+					return this.children[middle];
+			}
+
+			return null;
+		}
+
+	}
+
+	/**
+	 * A node of the trie while it is being built.
+	 */
+	private static final class Builder {
+
+		/**
+		 * The node's children, by their characters.
+		 */
+		private final Map<Character, Builder> children = new TreeMap<Character, Builder>();
+
+		/**
+		 * If a prefix ends at the node.
+		 */
+		private boolean terminal;
+
+		/**
+		 * Build the node.
+		 * 
+		 * @return The node.
+		 */
+		private Node build() {
+			char[] keys = new char[this.children.size()];
+			Node[] nodes = new Node[keys.length];
+			int i = 0;
+
+			for (Map.Entry<Character, Builder> entry : this.children.entrySet()) {
+				keys[i] = entry.getKey();
+				nodes[i++] = entry.getValue().build();
+			}
+
+			return new Node(keys, nodes, this.terminal);
+		}
+
+	}
+
+	/**
+	 * The matcher that matches no prefixes.
+	 */
+	private static final PrefixMatcher EMPTY = new PrefixMatcher(new Builder().build(), new long[2], false);
+
+	/**
+	 * The root of the trie.
+	 */
+	private final Node root;
+
+	/**
+	 * A bitmap of the ASCII characters that prefixes start with.
+	 */
+	private final long[] firstCharacters;
+
+	/**
+	 * If a prefix starts with a character that is not ASCII.
+	 */
+	private final boolean nonAscii;
+
+	/**
+	 * Construct a new prefix matcher.
+	 * 
+	 * @param root            The root of the trie.
+	 * @param firstCharacters A bitmap of the ASCII characters that prefixes start
+	 *                        with.
+	 * @param nonAscii        If a prefix starts with a character that is not
+	 *                        ASCII.
+	 */
+	private PrefixMatcher(Node root, long[] firstCharacters, boolean nonAscii) {
+		this.root = root;
+		this.firstCharacters = firstCharacters;
+		this.nonAscii = nonAscii;
+	}
+
+	/**
+	 * Build a matcher for some prefixes.
+	 * 
+	 * @param prefixes The prefixes.
+	 * @return The matcher.
+	 */
+	public static PrefixMatcher of(@Nonnull Collection<String> prefixes) {
+		if (prefixes.isEmpty())
+			return EMPTY;
+
+		Builder root = new Builder();
+		long[] firstCharacters = new long[2];
+		boolean nonAscii = false;
+
+		for (String prefix : prefixes) {
+			Builder node = root;
+			String lower = prefix.toLowerCase(Locale.ROOT);
+
+			for (int i = 0; i < lower.length(); i++)
+				node = node.children.computeIfAbsent(lower.charAt(i), key -> new Builder());
+
+			node.terminal = true;
+
+			if (lower.isEmpty())
+				continue;
+
+			char first = lower.charAt(0);
+
+			if (first < 128)
+				firstCharacters[first >>> 6] |= 1L << first;
+			else
+				nonAscii = true;
+		}
+
+		return new PrefixMatcher(root.build(), firstCharacters, nonAscii);
+	}
+
+	/**
+	 * Match the longest prefix a message starts with.
+	 * 
+	 * @param message The message.
+	 * @return The length of the prefix, or -1 if the message does not start with
+	 *         a prefix.
+	 */
+	public int match(@Nonnull String message) {
+		int match = this.root.terminal ? 0 : -1;
+
+		if (message.isEmpty())
+			return match;
+
+		char first = message.charAt(0);
+
+		// Reject most messages without walking the trie.
+		if (first < 128 ? (this.firstCharacters[first >>> 6] & (1L << first)) == 0 : !this.nonAscii)
+			return match;
+
+		Node node = this.root;
+
+		for (int i = 0; i < message.length(); i++) {
+			node = node.child(message.charAt(i));
+
+			if (node == null)
+				break;
+
+			if (node.terminal)
+				match = i + 1;
+		}
+
+		return match;
+	}
+
+}
@@ -0,0 +1,52 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+
+/**
+ * What a command's rate limit is shared by.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public enum RateLimitScope {
+
+	/**
+	 * Every user has their own rate limit.
+	 */
+	USER,
+
+	/**
+	 * Every guild has its own rate limit, shared by its members. Commands
+	 * executed outside of a guild are limited by their channel.
+	 */
+	GUILD,
+
+	/**
+	 * Every channel has its own rate limit, shared by the users in it.
+	 */
+	CHANNEL;
+
+	/**
+	 * Get the key of the rate limit an execution of a command counts towards.
+	 * 
+	 * @param guild      The guild the command was executed in.
+	 * @param member     The member that executed the command.
+	 * @param channel    The channel the command was executed in.
+	 * @param rawMessage The raw command.
+	 * @return The key.
+	 */
+	long key(Guild guild, Member member, MessageChannel channel, Message rawMessage) {
+		switch (this) {
+		case USER:
+			return member != null ? member.getIdLong() : rawMessage.getAuthor().getIdLong();
+		case GUILD:
+			return guild != null ? guild.getIdLong() : channel.getIdLong();
+		default:
+			return channel.getIdLong();
+		}
+	}
+
+}
@@ -0,0 +1,331 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.time.Duration;
+
+import javax.annotation.Nonnull;
+
+/**
+ * A token bucket rate limiter, with a bucket for every key, such as a user or
+ * guild id.
+ * 
+ * <p>
+ * Every bucket holds up to {@code permits} tokens, and is refilled at a rate of
+ * {@code permits} tokens per period. A bucket is stored as the single time at
+ * which it will be full again, so a full bucket needs no storage at all, and is
+ * forgotten once that time has passed.
+ * </p>
+ * 
+ * <p>
+ * The buckets are spread over a fixed number of stripes by the hash of their
+ * keys, and every stripe is a primitive open addressing hash table guarded by
+ * its own lock, so concurrent checks rarely contend and keys are never boxed.
+ * When a stripe fills up, the buckets that are full again are dropped before it
+ * is grown, so memory is bounded by the keys that were limited within the last
+ * period.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class RateLimiter {
+
+	/**
+	 * The number of stripes, a power of two.
+	 */
+	private static final int STRIPES = 64;
+
+	/**
+	 * The initial, and minimum, capacity of a stripe's table.
+	 */
+	private static final int MIN_CAPACITY = 16;
+
+	/**
+	 * A stripe of the buckets.
+	 */
+	private static final class Stripe {
+
+		/**
+		 * The keys of the buckets, 0 marks an empty slot.
+		 */
+		private long[] keys = new long[MIN_CAPACITY];
+
+		/**
+		 * The times at which the buckets will be full again, in the same slots as
+		 * their keys.
+		 */
+		private long[] fullAt = new long[MIN_CAPACITY];
+
+		/**
+		 * The number of occupied slots.
+		 */
+		private int size;
+
+		/**
+		 * If the bucket of the key 0 is stored.
+		 */
+		private boolean hasZero;
+
+		/**
+		 * The time at which the bucket of the key 0 will be full again.
+		 */
+		private long zeroFullAt;
+
+	}
+
+	/**
+	 * The maximum number of tokens in a bucket.
+	 */
+	private final int permits;
+
+	/**
+	 * The period in which a bucket is refilled.
+	 */
+	private final Duration period;
+
+	/**
+	 * The nanoseconds it takes to refill a token.
+	 */
+	private final long interval;
+
+	/**
+	 * The nanoseconds it takes to refill every token but one.
+	 */
+	private final long tolerance;
+
+	/**
+	 * The stripes of the buckets.
+	 */
+	private final Stripe[] stripes;
+
+	/**
+	 * Construct a new rate limiter.
+	 * 
+	 * @param permits The maximum number of tokens in a bucket, which is the number
+	 *                of times a key can be used at once.
+	 * @param period  The period in which a bucket is refilled.
+	 */
+	public RateLimiter(int permits, @Nonnull Duration period) {
+		if (permits < 1)
+			throw new IllegalArgumentException("The number of permits must be positive");
+
+		if (period.isNegative() || period.isZero())
+			throw new IllegalArgumentException("The period must be positive");
+
+		this.permits = permits;
+		this.period = period;
+		this.interval = Math.max(1, period.toNanos() / permits);
+		this.tolerance = this.interval * (permits - 1);
+		this.stripes = new Stripe[STRIPES];
+
+		for (int i = 0; i < STRIPES; i++)
+			this.stripes[i] = new Stripe();
+	}
+
+	/**
+	 * Construct a rate limiter that allows a key to be used once per cooldown.
+	 * 
+	 * @param cooldown The cooldown.
+	 * @return The rate limiter.
+	 */
+	public static RateLimiter cooldown(@Nonnull Duration cooldown) {
+		return new RateLimiter(1, cooldown);
+	}
+
+	/**
+	 * Get the maximum number of tokens in a bucket.
+	 * 
+	 * @return The number of permits.
+	 */
+	public int getPermits() {
+		return this.permits;
+	}
+
+	/**
+	 * Get the period in which a bucket is refilled.
+	 * 
+	 * @return The period.
+	 */
+	public Duration getPeriod() {
+		return this.period;
+	}
+
+	/**
+	 * Try to take a token from a key's bucket.
+	 * 
+	 * @param key The key.
+	 * @return 0 if a token was taken, otherwise the nanoseconds until one will be
+	 *         available.
+	 */
+	public long tryAcquire(long key) {
+		long hash = hash(key);
+		Stripe stripe = this.stripes[(int) (hash >>> 58)];
+
+		synchronized (stripe) {
+			long now = System.nanoTime();
+
+			if (key == 0) {
+				long fullAt = stripe.hasZero ? stripe.zeroFullAt : now;
+				long wait = this.waitFor(fullAt, now);
+
+				if (wait == 0) {
+					stripe.hasZero = true;
+					stripe.zeroFullAt = this.take(fullAt, now);
+				}
+
+				return wait;
+			}
+
+			int slot = this.find(stripe, key, hash);
+
+			if (stripe.keys[slot] == key) {
+				long wait = this.waitFor(stripe.fullAt[slot], now);
+
+				if (wait == 0)
+					stripe.fullAt[slot] = this.take(stripe.fullAt[slot], now);
+
+				return wait;
+			}
+
+			// The bucket is full, make room for it before it is stored.
+			if ((stripe.size + 1) * 2 > stripe.keys.length) {
+				this.rebuild(stripe, now);
+				slot = this.find(stripe, key, hash);
+			}
+
+			stripe.keys[slot] = key;
+			stripe.fullAt[slot] = this.take(now, now);
+			stripe.size++;
+			return 0;
+		}
+	}
+
+	/**
+	 * Get the number of buckets that are stored, including those that are full
+	 * again but have not been dropped yet.
+	 * 
+	 * @return The number of buckets.
+	 */
+	public int size() {
+		int size = 0;
+
+		for (Stripe stripe : this.stripes) {
+			synchronized (stripe) {
+				size += stripe.size + (stripe.hasZero ? 1 : 0);
+			}
+		}
+
+		return size;
+	}
+
+	/**
+	 * Drop the buckets that are full again, and shrink the stripes.
+	 * 
+	 * <p>
+	 * Note: This is done automatically as the stripes fill up, so it only needs to
+	 * be called to release memory after a burst of keys.
+	 * </p>
+	 */
+	public void cleanUp() {
+		for (Stripe stripe : this.stripes) {
+			synchronized (stripe) {
+				this.rebuild(stripe, System.nanoTime());
+			}
+		}
+	}
+
+	/**
+	 * Get the nanoseconds until a bucket has a token.
+	 * 
+	 * @param fullAt The time at which the bucket will be full again.
+	 * @param now    The current time.
+	 * @return 0 if the bucket has a token, otherwise the nanoseconds until it
+	 *         will.
+	 */
+	private long waitFor(long fullAt, long now) {
+		return Math.max(0, fullAt - this.tolerance - now);
+	}
+
+	/**
+	 * Take a token from a bucket.
+	 * 
+	 * @param fullAt The time at which the bucket will be full again.
+	 * @param now    The current time.
+	 * @return The time at which the bucket will be full again once the token is
+	 *         taken.
+	 */
+	private long take(long fullAt, long now) {
+		return (fullAt - now > 0 ? fullAt : now) + this.interval;
+	}
+
+	/**
+	 * Hash a key, so the high bits select its stripe and the low bits its slot.
+	 * 
+	 * <p>
+	 * Every bit of the key is mixed into every bit of the hash, as the low bits of
+	 * snowflake ids are mostly sequence numbers.
+	 * </p>
+	 * 
+	 * @param key The key.
+	 * @return The hash.
+	 */
+	private static long hash(long key) {
+		long hash = (key ^ (key >>> 33)) * 0xFF51AFD7ED558CCDL;
+		hash = (hash ^ (hash >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	/**
+	 * Find the slot of a key, or the empty slot it would be stored in.
+	 * 
+	 * @param stripe The stripe.
+	 * @param key    The key.
+	 * @param hash   The hash of the key.
+	 * @return The slot.
+	 */
+	private int find(Stripe stripe, long key, long hash) {
+		int mask = stripe.keys.length - 1;
+		int slot = (int) hash & mask;
+
+		while (stripe.keys[slot] != 0 && stripe.keys[slot] != key)
+			slot = (slot + 1) & mask;
+
+		return slot;
+	}
+
+	/**
+	 * Drop the buckets of a stripe that are full again, and resize its table so
+	 * it is at most a quarter full.
+	 * 
+	 * @param stripe The stripe.
+	 * @param now    The current time.
+	 */
+	private void rebuild(Stripe stripe, long now) {
+		long[] keys = stripe.keys;
+		long[] fullAt = stripe.fullAt;
+		int live = 0;
+
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] != 0 && fullAt[i] - now > 0)
+				live++;
+		}
+
+		int capacity = Math.max(MIN_CAPACITY, Integer.highestOneBit(Math.max(1, live * 4 - 1)) << 1);
+
+		stripe.keys = new long[capacity];
+		stripe.fullAt = new long[capacity];
+		stripe.size = live;
+
+		for (int i = 0; i < keys.length; i++) {
+			if (keys[i] == 0 || fullAt[i] - now <= 0)
+				continue;
+
+			int slot = this.find(stripe, keys[i], hash(keys[i]));
+			stripe.keys[slot] = keys[i];
+			stripe.fullAt[slot] = fullAt[i];
+		}
+
+		if (stripe.hasZero && stripe.zeroFullAt - now <= 0)
+			stripe.hasZero = false;
+	}
+
+}
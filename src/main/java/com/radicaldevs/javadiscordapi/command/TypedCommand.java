@@ -0,0 +1,311 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.util.List;
+import java.util.function.Predicate;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+
+/**
+ * A command whose arguments are declared by the parameters of its
+ * {@link CommandHandler} method.
+ * 
+ * <p>
+ * The handler method is found, and a parser is resolved for each of its
+ * arguments, when the command is constructed. Executing the command only parses
+ * the arguments and invokes the method through a method handle, so the
+ * handler receives validated arguments without parsing them itself.
+ * </p>
+ * 
+ * <pre>
+ * &#64;CommandHandler
+ * public boolean ban(CommandContext context, Member target, &#64;Default("1d") Duration time, &#64;Greedy String reason) {
+ * 	// Handle the command.
+ * }
+ * </pre>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public abstract class TypedCommand extends Command {
+
+	/**
+	 * A compiled argument of the handler method.
+	 */
+	private static final class Argument {
+
+		/**
+		 * The name of the argument.
+		 */
+		private final String name;
+
+		/**
+		 * The argument's parser.
+		 */
+		private final ArgumentParser<?> parser;
+
+		/**
+		 * If the argument consumes the rest of the arguments.
+		 */
+		private final boolean greedy;
+
+		/**
+		 * The argument's default value, or null if it is required.
+		 */
+		private final String defaultValue;
+
+		/**
+		 * Construct a new argument.
+		 * 
+		 * @param name         The name of the argument.
+		 * @param parser       The argument's parser.
+		 * @param greedy       If the argument consumes the rest of the arguments.
+		 * @param defaultValue The argument's default value, or null if it is
+		 *                     required.
+		 */
+		private Argument(String name, ArgumentParser<?> parser, boolean greedy, String defaultValue) {
+			this.name = name;
+			this.parser = parser;
+			this.greedy = greedy;
+			this.defaultValue = defaultValue;
+		}
+
+	}
+
+	/**
+	 * If the handler method's first parameter is a {@link CommandContext}.
+	 */
+	private final boolean hasContext;
+
+	/**
+	 * The handler method's arguments.
+	 */
+	private final Argument[] arguments;
+
+	/**
+	 * The handler method, bound to the command, which accepts its parameters as
+	 * an array.
+	 */
+	private final MethodHandle handler;
+
+	/**
+	 * If the handler method returns a boolean.
+	 */
+	private final boolean returnsBoolean;
+
+	/**
+	 * The command's usage, such as {@code <target> [time] [reason...]}.
+	 */
+	private final String usage;
+
+	/**
+	 * Construct a new typed command.
+	 * 
+	 * @param name            The name of the command.
+	 * @param description     The command's description.
+	 * @param aliases         The command's aliases.
+	 * @param permissionCheck A predicate to check if the user has access to the
+	 *                        command.
+	 * @throws IllegalArgumentException If the command does not declare exactly one
+	 *                                  valid {@link CommandHandler} method.
+	 */
+	public TypedCommand(String name, String description, List<String> aliases, Predicate<Member> permissionCheck) {
+		super(name, description, aliases, permissionCheck);
+
+		Method method = this.findHandler();
+		Parameter[] parameters = method.getParameters();
+		StringBuilder usage = new StringBuilder();
+
+		this.hasContext = parameters.length > 0 && parameters[0].getType() == CommandContext.class;
+		this.arguments = new Argument[parameters.length - (this.hasContext ? 1 : 0)];
+		this.returnsBoolean = method.getReturnType() == boolean.class || method.getReturnType() == Boolean.class;
+
+		for (int i = 0; i < this.arguments.length; i++) {
+			Parameter parameter = parameters[i + (this.hasContext ? 1 : 0)];
+			ArgumentParser<?> parser = ArgumentParsers.get(parameter.getType());
+			boolean greedy = parameter.isAnnotationPresent(Greedy.class);
+			Default defaultValue = parameter.getAnnotation(Default.class);
+
+			if (parser == null)
+				throw new IllegalArgumentException(method + " has an argument of an unsupported type: " + parameter.getType().getName());
+
+			if (greedy && (i != this.arguments.length - 1 || parameter.getType() != String.class))
+				throw new IllegalArgumentException(method + " has a greedy argument that is not a String, or not its last argument");
+
+			this.arguments[i] = new Argument(parameter.getName(), parser, greedy, defaultValue == null ? null : defaultValue.value());
+
+			usage.append(usage.length() == 0 ? "" : " ")
+				.append(defaultValue == null ? '<' : '[')
+				.append(parameter.getName())
+				.append(greedy ? "..." : "")
+				.append(defaultValue == null ? '>' : ']');
+		}
+
+		this.usage = usage.toString();
+		this.handler = this.bind(method);
+	}
+
+	/**
+	 * Get the command's usage, such as {@code <target> [time] [reason...]}.
+	 * 
+	 * <p>
+	 * Note: The names of the arguments are only available if the command was
+	 * compiled with {@code -parameters}, otherwise they are named {@code arg0},
+	 * {@code arg1}, and so on.
+	 * </p>
+	 * 
+	 * @return The command's usage.
+	 */
+	public String getUsage() {
+		return this.usage;
+	}
+
+	/**
+	 * Parse the arguments, and invoke the {@link CommandHandler} method.
+	 */
+	@Override
+	public final boolean onCommand(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args) {
+		return this.onCommand(guild, member, channel, rawMessage, Arguments.of(args));
+	}
+
+	/**
+	 * Parse the arguments, and invoke the {@link CommandHandler} method.
+	 */
+	@Override
+	final boolean onCommand(Guild guild, Member member, MessageChannel channel, Message rawMessage, Arguments args) {
+		CommandContext context = new CommandContext(guild, member, channel, rawMessage);
+		Object[] values = new Object[this.arguments.length + (this.hasContext ? 1 : 0)];
+		int offset = this.hasContext ? 1 : 0;
+		int next = 0;
+
+		if (this.hasContext)
+			values[0] = context;
+
+		try {
+			for (int i = 0; i < this.arguments.length; i++) {
+				Argument argument = this.arguments[i];
+				String value;
+
+				if (next < args.size())
+					value = argument.greedy ? args.remainder(next) : args.get(next);
+				else if (argument.defaultValue != null)
+					value = argument.defaultValue;
+				else
+					throw new ArgumentException("Missing the " + argument.name + " argument, usage: " + this.usage);
+
+				next = argument.greedy ? args.size() : next + 1;
+				values[offset + i] = argument.parser.parse(value, context);
+			}
+
+			if (next < args.size())
+				throw new ArgumentException("Too many arguments, usage: " + this.usage);
+		} catch (ArgumentException e) {
+			return this.onInvalidArguments(context, e);
+		}
+
+		return this.invoke(values);
+	}
+
+	/**
+	 * The method that will be invoked when the arguments of the command are
+	 * missing or not valid.
+	 * 
+	 * <p>
+	 * By default this does nothing, and returns false.
+	 * </p>
+	 * 
+	 * @param context   The context the command was executed in.
+	 * @param exception The exception describing the invalid argument.
+	 * @return If the command was handled.
+	 */
+	protected boolean onInvalidArguments(CommandContext context, ArgumentException exception) {
+		return false;
+	}
+
+	/**
+	 * Invoke the handler method.
+	 * 
+	 * @param values The handler method's parameters.
+	 * @return The value returned by the handler method, or true if it does not
+	 *         return a boolean.
+	 */
+	private boolean invoke(Object[] values) {
+		Object result;
+
+		try {
+			result = this.handler.invokeExact(values);
+		} catch (RuntimeException | Error e) {
+			throw e;
+		} catch (Throwable e) {
+			throw new RuntimeException(e);
+		}
+
+		return !this.returnsBoolean || Boolean.TRUE.equals(result);
+	}
+
+	/**
+	 * Find the command's {@link CommandHandler} method.
+	 * 
+	 * @return The method.
+	 * @throws IllegalArgumentException If the command does not declare exactly one
+	 *                                  handler method.
+	 */
+	private Method findHandler() {
+		Method handler = null;
+
+		for (Class<?> type = this.getClass(); type != TypedCommand.class; type = type.getSuperclass()) {
+			for (Method method : type.getDeclaredMethods()) {
+				if (!method.isAnnotationPresent(CommandHandler.class))
+					continue;
+
+				if (handler != null)
+					throw new IllegalArgumentException(this.getClass().getName() + " declares more than one command handler");
+
+				if (Modifier.isStatic(method.getModifiers()))
+					throw new IllegalArgumentException(method + " must not be static");
+
+				handler = method;
+			}
+		}
+
+		if (handler == null)
+			throw new IllegalArgumentException(this.getClass().getName() + " does not declare a command handler");
+
+		return handler;
+	}
+
+	/**
+	 * Bind the handler method to the command.
+	 * 
+	 * @param method The handler method.
+	 * @return The bound method handle, which accepts the method's parameters as an
+	 *         array.
+	 * @throws IllegalArgumentException If the method can not be accessed.
+	 */
+	private MethodHandle bind(Method method) {
+		MethodHandle handle;
+
+		try {
+			handle = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup()).unreflect(method);
+		} catch (IllegalAccessException e) {
+			try {
+				handle = MethodHandles.publicLookup().unreflect(method);
+			} catch (IllegalAccessException e1) {
+				throw new IllegalArgumentException(method + " can not be accessed, it must be public", e1);
+			}
+		}
+
+		return handle.bindTo(this)
+			.asSpreader(Object[].class, method.getParameterCount())
+			.asType(MethodType.methodType(Object.class, Object[].class));
+	}
+
+}
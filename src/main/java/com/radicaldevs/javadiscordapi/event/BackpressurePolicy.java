@@ -0,0 +1,27 @@
+package com.radicaldevs.javadiscordapi.event;
+
+/**
+ * What to do with an event when a subscriber's buffer is full, because it has
+ * not requested more events.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public enum BackpressurePolicy {
+
+	/**
+	 * Discard the oldest buffered event to make space for the event.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Discard the event.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Cancel the subscription, and signal the subscriber with an error.
+	 */
+	CANCEL;
+
+}
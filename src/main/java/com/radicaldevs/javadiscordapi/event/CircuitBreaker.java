@@ -0,0 +1,244 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+/**
+ * Stops passing events to a {@link RegisteredHandler} that is failing or
+ * persistently slow.
+ * 
+ * <p>
+ * The outcomes of the handler's last 20 invocations are tracked. If at least
+ * half of them threw an exception, or exceeded the
+ * {@link ListenerManager#getSlowHandlerThreshold() slow handler threshold},
+ * the breaker opens and the handler is skipped. Once the
+ * {@link ListenerManager#getCircuitBreakerCoolOff() cool-off period} has
+ * passed, a single event is passed to the handler. If it is handled
+ * successfully the breaker closes, otherwise it opens again.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class CircuitBreaker {
+
+	/**
+	 * The number of invocations whose outcomes are tracked.
+	 */
+	private static final int WINDOW = 20;
+
+	/**
+	 * The listener manager the handler is registered with.
+	 */
+	private final ListenerManager manager;
+
+	/**
+	 * The handler the breaker protects.
+	 */
+	private final RegisteredHandler handler;
+
+	/**
+	 * The outcomes of the last invocations, guarded by this breaker.
+	 */
+	private final byte[] outcomes;
+
+	/**
+	 * The index the next outcome is written to, guarded by this breaker.
+	 */
+	private int next;
+
+	/**
+	 * The number of tracked outcomes, guarded by this breaker.
+	 */
+	private int count;
+
+	/**
+	 * The number of tracked invocations that failed, guarded by this breaker.
+	 */
+	private int failures;
+
+	/**
+	 * The number of tracked invocations that were slow, guarded by this breaker.
+	 */
+	private int slow;
+
+	/**
+	 * The state of the breaker.
+	 */
+	private volatile CircuitState state;
+
+	/**
+	 * When the breaker was last opened, in nanoseconds.
+	 */
+	private volatile long openedAt;
+
+	/**
+	 * If the probing event has been passed to the handler.
+	 */
+	private final AtomicBoolean probing;
+
+	/**
+	 * The number of times the breaker has opened.
+	 */
+	private final LongAdder trips;
+
+	/**
+	 * Construct a new circuit breaker.
+	 * 
+	 * @param manager The listener manager the handler is registered with.
+	 * @param handler The handler the breaker protects.
+	 */
+	CircuitBreaker(ListenerManager manager, RegisteredHandler handler) {
+		this.manager = manager;
+		this.handler = handler;
+		this.outcomes = new byte[WINDOW];
+		this.state = CircuitState.CLOSED;
+		this.probing = new AtomicBoolean();
+		this.trips = new LongAdder();
+	}
+
+	/**
+	 * Get the state of the breaker.
+	 * 
+	 * <p>
+	 * Note: An open breaker only becomes half open when an event is offered to
+	 * the handler after its cool-off period.
+	 * </p>
+	 * 
+	 * @return The state.
+	 */
+	public CircuitState getState() {
+		return this.state;
+	}
+
+	/**
+	 * Get the number of times the breaker has opened.
+	 * 
+	 * @return The number of trips.
+	 */
+	public long getTrips() {
+		return this.trips.sum();
+	}
+
+	/**
+	 * Close the breaker, and forget the tracked outcomes.
+	 */
+	public synchronized void reset() {
+		this.close();
+	}
+
+	/**
+	 * Check if an event can be passed to the handler.
+	 * 
+	 * @return If the handler can be called.
+	 */
+	boolean allowsCall() {
+		CircuitState state = this.state;
+
+		if (state == CircuitState.CLOSED)
+			return true;
+
+		Duration coolOff = this.manager.getCircuitBreakerCoolOff();
+
+		if (coolOff == null)
+			return true;
+
+		if (state == CircuitState.OPEN) {
+			if (System.nanoTime() - this.openedAt < coolOff.toNanos())
+				return false;
+
+			synchronized (this) {
+				if (this.state == CircuitState.OPEN) {
+					this.probing.set(false);
+					this.state = CircuitState.HALF_OPEN;
+				}
+			}
+		}
+
+		// Only the first event after the cool-off probes the handler.
+		return this.state != CircuitState.OPEN && this.probing.compareAndSet(false, true);
+	}
+
+	/**
+	 * Record the outcome of an invocation.
+	 * 
+	 * @param failed If the invocation threw an exception.
+	 * @param slow   If the invocation exceeded the slow handler threshold.
+	 */
+	synchronized void record(boolean failed, boolean slow) {
+		if (this.manager.getCircuitBreakerCoolOff() == null)
+			return;
+
+		if (this.state == CircuitState.HALF_OPEN) {
+			if (failed || slow) {
+				this.open("it is still " + (failed ? "failing" : "slow"));
+			} else {
+				this.close();
+				Utils.info(this.handler + " has recovered, and will receive events again.");
+			}
+
+			return;
+		}
+
+		// The invocation started before the breaker opened.
+		if (this.state == CircuitState.OPEN)
+			return;
+
+		byte previous = this.outcomes[this.next];
+
+		if (this.count == WINDOW) {
+			this.failures -= previous & 1;
+			this.slow -= previous >> 1;
+		} else {
+			this.count++;
+		}
+
+		this.outcomes[this.next] = (byte) ((failed ? 1 : 0) | (slow ? 2 : 0));
+		this.failures += failed ? 1 : 0;
+		this.slow += slow ? 1 : 0;
+		this.next = (this.next + 1) % WINDOW;
+
+		if (this.count < WINDOW)
+			return;
+
+		if (this.failures * 2 >= WINDOW)
+			this.open(this.failures + " of its last " + WINDOW + " invocations failed");
+		else if (this.slow * 2 >= WINDOW)
+			this.open(this.slow + " of its last " + WINDOW + " invocations were slow");
+	}
+
+	/**
+	 * Open the breaker.
+	 * 
+	 * @param reason Why the breaker is opening.
+	 */
+	private void open(String reason) {
+		Duration coolOff = this.manager.getCircuitBreakerCoolOff();
+
+		this.openedAt = System.nanoTime();
+		this.state = CircuitState.OPEN;
+		this.trips.increment();
+
+		Utils.warn(this.handler + " will not receive events for " + coolOff.toMillis() + "ms, as " + reason + ".");
+	}
+
+	/**
+	 * Close the breaker, and forget the tracked outcomes.
+	 */
+	private void close() {
+		this.next = 0;
+		this.count = 0;
+		this.failures = 0;
+		this.slow = 0;
+		this.state = CircuitState.CLOSED;
+	}
+
+	@Override
+	public String toString() {
+		return this.state.name();
+	}
+
+}
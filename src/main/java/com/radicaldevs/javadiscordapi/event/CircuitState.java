@@ -0,0 +1,28 @@
+package com.radicaldevs.javadiscordapi.event;
+
+/**
+ * The states of a {@link CircuitBreaker}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public enum CircuitState {
+
+	/**
+	 * The handler is healthy, and receives events.
+	 */
+	CLOSED,
+
+	/**
+	 * The handler has been failing or slow, and does not receive events until its
+	 * cool-off period has passed.
+	 */
+	OPEN,
+
+	/**
+	 * The handler's cool-off period has passed, and the next event is passed to
+	 * it to probe if it has recovered.
+	 */
+	HALF_OPEN;
+
+}
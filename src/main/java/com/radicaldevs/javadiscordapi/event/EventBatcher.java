@@ -0,0 +1,230 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Accumulates events for an {@link EventHandler} that accepts batches.
+ * 
+ * <p>
+ * Batches are delivered one at a time, in the order they were completed,
+ * whether they filled up on the dispatching thread or their time limit passed.
+ * A full batch is delivered on the thread that filled it, unless another batch
+ * is being delivered, and an expired batch is delivered on the listener
+ * manager's asynchronous executor, so the scheduler is never blocked by a
+ * handler.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class EventBatcher {
+
+	/**
+	 * The scheduler that hands off batches whose time limit has passed.
+	 */
+	private static final ScheduledExecutorService SCHEDULER = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "Event-Batcher");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	/**
+	 * The handler the batches are delivered to.
+	 */
+	private final RegisteredHandler handler;
+
+	/**
+	 * The maximum number of events in a batch.
+	 */
+	private final int size;
+
+	/**
+	 * The maximum time an event is held, in milliseconds.
+	 */
+	private final long time;
+
+	/**
+	 * Supplies the executor that delivers expired batches.
+	 */
+	private final Supplier<Executor> executor;
+
+	/**
+	 * The batches waiting to be delivered, in the order they were completed.
+	 */
+	private final ArrayDeque<List<GenericEvent>> completed;
+
+	/**
+	 * The batch being accumulated, or null if there are no pending events.
+	 */
+	private List<GenericEvent> batch;
+
+	/**
+	 * Hands off the batch being accumulated when its time limit passes.
+	 */
+	private ScheduledFuture<?> timer;
+
+	/**
+	 * If a thread is delivering the completed batches.
+	 */
+	private boolean delivering;
+
+	/**
+	 * If the handler has been removed, and no longer accepts events.
+	 */
+	private boolean closed;
+
+	/**
+	 * Construct a new event batcher.
+	 * 
+	 * @param handler  The handler the batches are delivered to.
+	 * @param size     The maximum number of events in a batch.
+	 * @param time     The maximum time an event is held, in milliseconds.
+	 * @param executor Supplies the executor that delivers expired batches.
+	 */
+	EventBatcher(RegisteredHandler handler, int size, long time, Supplier<Executor> executor) {
+		if (size < 1)
+			throw new IllegalArgumentException("The batch size of " + handler + " must be positive");
+
+		this.handler = handler;
+		this.size = size;
+		this.time = time;
+		this.executor = executor;
+		this.completed = new ArrayDeque<List<GenericEvent>>();
+	}
+
+	/**
+	 * Add an event to the batch, and deliver the batch if it is full.
+	 * 
+	 * @param event The event.
+	 */
+	void add(GenericEvent event) {
+		synchronized (this) {
+			// The handler was removed after the event was dispatched to it.
+			if (this.closed)
+				return;
+
+			if (this.batch == null) {
+				List<GenericEvent> batch = new ArrayList<GenericEvent>(Math.min(this.size, 1024));
+				this.batch = batch;
+				this.timer = SCHEDULER.schedule(() -> this.expire(batch), this.time, TimeUnit.MILLISECONDS);
+			}
+
+			this.batch.add(event);
+
+			if (this.batch.size() < this.size || !this.complete())
+				return;
+		}
+
+		this.deliver();
+	}
+
+	/**
+	 * Deliver the batch being accumulated, and the batches waiting to be
+	 * delivered, unless another thread is delivering them.
+	 */
+	void flush() {
+		synchronized (this) {
+			if (this.batch != null) {
+				if (!this.complete())
+					return;
+			} else {
+				if (this.delivering || this.completed.isEmpty())
+					return;
+
+				this.delivering = true;
+			}
+		}
+
+		this.deliver();
+	}
+
+	/**
+	 * Stop accepting events, and deliver the pending events.
+	 */
+	void close() {
+		synchronized (this) {
+			this.closed = true;
+		}
+
+		this.flush();
+	}
+
+	/**
+	 * Hand off a batch, as its time limit has passed.
+	 * 
+	 * @param expired The batch.
+	 */
+	private void expire(List<GenericEvent> expired) {
+		synchronized (this) {
+			// The batch was already completed when it filled up, or was flushed.
+			if (this.batch != expired || !this.complete())
+				return;
+		}
+
+		try {
+			this.executor.get().execute(this::deliver);
+		} catch (RejectedExecutionException e) {
+			// The executor has been shut down, deliver the batch on this thread instead.
+			this.deliver();
+		}
+	}
+
+	/**
+	 * Complete the batch being accumulated, the lock must be held.
+	 * 
+	 * @return If the completed batches should be delivered by the caller, or false
+	 *         if another thread is delivering them.
+	 */
+	private boolean complete() {
+		this.completed.add(this.batch);
+		this.batch = null;
+		this.timer.cancel(false);
+
+		if (this.delivering)
+			return false;
+
+		this.delivering = true;
+		return true;
+	}
+
+	/**
+	 * Deliver the completed batches, until there are none left.
+	 */
+	private void deliver() {
+		while (true) {
+			List<GenericEvent> batch;
+
+			synchronized (this) {
+				batch = this.completed.poll();
+
+				if (batch == null) {
+					this.delivering = false;
+					return;
+				}
+			}
+
+			try {
+				this.handler.invoke(Collections.unmodifiableList(batch));
+			} catch (Exception e) {
+				// The handler has already logged the exception.
+			} catch (Error e) {
+				// Hand the remaining batches to another thread, so delivery does not stop.
+				this.executor.get().execute(this::deliver);
+				throw e;
+			}
+		}
+	}
+
+}
@@ -0,0 +1,140 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import javax.annotation.Nonnull;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * The state of an event while it is being dispatched to its handlers.
+ * 
+ * <p>
+ * A handler can cancel the event it is handling with
+ * {@link #cancel(GenericEvent)}. Handlers that run after it will not receive the
+ * event, unless they {@link EventHandler#ignoreCancelled() ignore
+ * cancellation}.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class EventContext {
+
+	/**
+	 * The context of the handler running on each thread.
+	 */
+	private static final ThreadLocal<EventContext> CURRENT = new ThreadLocal<EventContext>();
+
+	/**
+	 * The event being dispatched.
+	 */
+	private final GenericEvent event;
+
+	/**
+	 * If the event has been cancelled.
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 * Construct a new event context.
+	 * 
+	 * @param event The event being dispatched.
+	 */
+	public EventContext(@Nonnull GenericEvent event) {
+		this.event = event;
+	}
+
+	/**
+	 * Get the event being dispatched.
+	 * 
+	 * @return The event.
+	 */
+	public GenericEvent getEvent() {
+		return this.event;
+	}
+
+	/**
+	 * Check if the event has been cancelled.
+	 * 
+	 * @return If the event has been cancelled.
+	 */
+	public boolean isCancelled() {
+		return this.cancelled;
+	}
+
+	/**
+	 * Set if the event is cancelled.
+	 * 
+	 * @param cancelled If the event is cancelled.
+	 */
+	public void setCancelled(boolean cancelled) {
+		this.cancelled = cancelled;
+	}
+
+	/**
+	 * Get the context of the event being handled by the current thread.
+	 * 
+	 * @return The context, or null if the current thread is not running an
+	 *         {@link EventHandler}.
+	 */
+	public static EventContext current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Cancel the event being handled by the current thread.
+	 * 
+	 * @param event The event.
+	 * @throws IllegalStateException If the current thread is not handling the
+	 *                               event.
+	 */
+	public static void cancel(GenericEvent event) {
+		of(event).setCancelled(true);
+	}
+
+	/**
+	 * Check if the event being handled by the current thread has been cancelled.
+	 * 
+	 * @param event The event.
+	 * @return If the event has been cancelled.
+	 * @throws IllegalStateException If the current thread is not handling the
+	 *                               event.
+	 */
+	public static boolean isCancelled(GenericEvent event) {
+		return of(event).isCancelled();
+	}
+
+	/**
+	 * Get the context of the event being handled by the current thread.
+	 * 
+	 * @param event The event.
+	 * @return The context.
+	 * @throws IllegalStateException If the current thread is not handling the
+	 *                               event.
+	 */
+	private static EventContext of(GenericEvent event) {
+		EventContext context = CURRENT.get();
+
+		if (context == null || context.event != event)
+			throw new IllegalStateException("The event is not being handled by the current thread");
+
+		return context;
+	}
+
+	/**
+	 * Set the context of the current thread.
+	 * 
+	 * @param context The context, or null to clear it.
+	 * @return The previous context of the current thread.
+	 */
+	static EventContext bind(EventContext context) {
+		EventContext previous = CURRENT.get();
+
+		if (context == null)
+			CURRENT.remove();
+		else
+			CURRENT.set(context);
+
+		return previous;
+	}
+
+}
@@ -0,0 +1,25 @@
+package com.radicaldevs.javadiscordapi.event;
+
+/**
+ * Invokes an {@link EventHandler} method on its listener.
+ * 
+ * <p>
+ * Executors are created once, when a listener is registered, so passing an
+ * event to a handler does not go through reflection.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@FunctionalInterface
+public interface EventExecutor {
+
+	/**
+	 * Pass an event to the handler.
+	 * 
+	 * @param event The event, or a list of events if the handler accepts batches.
+	 * @throws Exception If the handler threw an exception.
+	 */
+	void execute(Object event) throws Exception;
+
+}
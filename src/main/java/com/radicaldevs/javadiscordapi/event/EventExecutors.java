@@ -0,0 +1,93 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.LambdaMetafactory;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+/**
+ * Creates {@link EventExecutor}s for {@link EventHandler} methods.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class EventExecutors {
+
+	/**
+	 * The signature of {@link EventExecutor#execute(Object)}.
+	 */
+	private static final MethodType EXECUTE_TYPE = MethodType.methodType(void.class, Object.class);
+
+	/**
+	 * Create an executor for an event handler method.
+	 * 
+	 * <p>
+	 * A lambda is spun for the method with {@link LambdaMetafactory} when the
+	 * listener's class can be accessed privately, which allows the JIT to inline
+	 * the handler. Listeners that are loaded by another class loader, such as
+	 * plugin listeners, fall back to a bound {@link MethodHandle}. Static methods
+	 * are supported, and do not capture the listener.
+	 * </p>
+	 * 
+	 * @param listener The listener that declares the method.
+	 * @param method   The event handler method.
+	 * @return The executor.
+	 * @throws IllegalAccessException If the method can not be accessed.
+	 */
+	static EventExecutor create(Listener listener, Method method) throws IllegalAccessException {
+		boolean isStatic = Modifier.isStatic(method.getModifiers());
+		MethodHandle handle;
+
+		try {
+			Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+			handle = lookup.unreflect(method);
+
+			try {
+				// A static method does not capture the listener.
+				CallSite site = LambdaMetafactory.metafactory(
+					lookup, 
+					"execute",
+					isStatic ? MethodType.methodType(EventExecutor.class) : MethodType.methodType(EventExecutor.class, method.getDeclaringClass()),
+					EXECUTE_TYPE,
+					handle,
+					MethodType.methodType(void.class, method.getParameterTypes()[0])
+				);
+
+				return (EventExecutor) (isStatic ? site.getTarget().invoke() : site.getTarget().invoke(listener));
+			} catch (Throwable e) {
+				Utils.warn("A lambda could not be spun for " + method + ", falling back to a method handle: " + e);
+			}
+		} catch (IllegalAccessException e) {
+			// The listener's class can not be accessed privately.
+			handle = MethodHandles.publicLookup().unreflect(method);
+		}
+
+		if (!isStatic)
+			handle = handle.bindTo(listener);
+
+		MethodHandle executor = handle.asType(EXECUTE_TYPE);
+
+		return event -> {
+			try {
+				executor.invokeExact(event);
+			} catch (Exception | Error e) {
+				throw e;
+			} catch (Throwable e) {
+				throw new RuntimeException(e);
+			}
+		};
+	}
+
+	/**
+	 * This class should not be instantiated.
+	 */
+	private EventExecutors() {
+	}
+
+}
@@ -0,0 +1,88 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.function.Predicate;
+
+import com.radicaldevs.javadiscordapi.utils.EventUtils;
+
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Compiles the filters declared by an {@link EventHandler} annotation.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class EventFilters {
+
+	/**
+	 * Compile the filters declared by an event handler annotation into a single
+	 * predicate.
+	 * 
+	 * @param annotation The annotation.
+	 * @return A predicate that accepts the events the handler should receive, or
+	 *         null if the annotation does not declare any filters.
+	 */
+	static Predicate<GenericEvent> compile(EventHandler annotation) {
+		Predicate<GenericEvent> filter = null;
+
+		if (annotation.ignoreBots())
+			filter = and(filter, event -> {
+				User user = EventUtils.getUser(event);
+				return user == null || !user.isBot();
+			});
+
+		if (annotation.guilds().length > 0) {
+			long[] guilds = annotation.guilds().clone();
+			Arrays.sort(guilds);
+
+			filter = and(filter, event -> {
+				Guild guild = EventUtils.getGuild(event);
+				return guild != null && Arrays.binarySearch(guilds, guild.getIdLong()) >= 0;
+			});
+		}
+
+		if (annotation.channelTypes().length > 0) {
+			EnumSet<ChannelType> channelTypes = EnumSet.copyOf(Arrays.asList(annotation.channelTypes()));
+
+			filter = and(filter, event -> {
+				ChannelType channelType = EventUtils.getChannelType(event);
+				return channelType != null && channelTypes.contains(channelType);
+			});
+		}
+
+		if (!annotation.startsWith().isEmpty()) {
+			String prefix = annotation.startsWith();
+
+			filter = and(filter, event -> {
+				Message message = EventUtils.getMessage(event);
+				return message != null && message.getContentRaw().startsWith(prefix);
+			});
+		}
+
+		return filter;
+	}
+
+	/**
+	 * Combine two filters.
+	 * 
+	 * @param first  The first filter, or null.
+	 * @param second The second filter.
+	 * @return A filter that accepts events accepted by both filters.
+	 */
+	private static Predicate<GenericEvent> and(Predicate<GenericEvent> first, Predicate<GenericEvent> second) {
+		return first == null ? second : first.and(second);
+	}
+
+	/**
+	 * This class should not be instantiated.
+	 */
+	private EventFilters() {
+	}
+
+}
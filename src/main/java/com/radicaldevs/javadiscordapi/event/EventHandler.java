@@ -6,9 +6,22 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.RetentionPolicy;
 import java.lang.annotation.Target;
 
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.events.GenericEvent;
+
 /**
  * An annotation to declare a method as an event handler.
  * 
+ * <p>
+ * The method's only parameter must be an event, or a {@link java.util.List} of
+ * events to receive them in batches.
+ * </p>
+ * 
+ * <p>
+ * The filters declared by the annotation are compiled when the listener is
+ * registered, and checked before the event handler is invoked.
+ * </p>
+ * 
  * @author Myles Deslippe
  * @since 0.0.2
  */
@@ -21,4 +34,108 @@ public @interface EventHandler {
 	 */
 	EventPriority priority() default EventPriority.NORMAL;
 
+	/**
+	 * If the event handler should run on the listener manager's
+	 * {@link ListenerManager#getAsyncExecutor() async executor}, instead of the
+	 * event thread.
+	 * 
+	 * <p>
+	 * Asynchronous handlers receive the events of a guild (or private channel) in
+	 * the order they were dispatched, while the events of different guilds are
+	 * handled in parallel.
+	 * </p>
+	 */
+	boolean async() default false;
+
+	/**
+	 * If the event handler is safe to run concurrently with the other parallel
+	 * handlers of the same priority.
+	 * 
+	 * <p>
+	 * Parallel handlers of a priority run on the listener manager's
+	 * {@link ListenerManager#getParallelPool() parallel pool} after the other
+	 * handlers of that priority, and all of them complete before handlers of a
+	 * lower priority run. This has no effect on {@link #async() asynchronous}
+	 * handlers.
+	 * </p>
+	 */
+	boolean parallel() default false;
+
+	/**
+	 * If the event handler should receive events that have been
+	 * {@link EventContext#cancel(GenericEvent) cancelled} by a handler that ran
+	 * before it.
+	 * 
+	 * <p>
+	 * By default cancelled events are not passed to the handler.
+	 * </p>
+	 */
+	boolean ignoreCancelled() default false;
+
+	/**
+	 * If events caused by bots should be filtered out before they reach the event
+	 * handler.
+	 */
+	boolean ignoreBots() default false;
+
+	/**
+	 * The ids of the guilds the event handler receives events from.
+	 * 
+	 * <p>
+	 * By default events from all guilds, and events outside of guilds, are
+	 * received.
+	 * </p>
+	 */
+	long[] guilds() default {};
+
+	/**
+	 * The types of channels the event handler receives events from.
+	 * 
+	 * <p>
+	 * By default events from all channels, and events outside of channels, are
+	 * received.
+	 * </p>
+	 */
+	ChannelType[] channelTypes() default {};
+
+	/**
+	 * The text that a message must start with to be passed to the event handler.
+	 * 
+	 * <p>
+	 * If this is set, only events that carry a message will be received.
+	 * </p>
+	 */
+	String startsWith() default "";
+
+	/**
+	 * The maximum number of events passed to the event handler at once, if it
+	 * accepts a {@link java.util.List} of events.
+	 * 
+	 * <p>
+	 * Batch handlers receive the events that pass their filters in batches, which
+	 * are delivered when they are full, or when {@link #batchTime()} has passed
+	 * since their first event.
+	 * </p>
+	 */
+	int batchSize() default 100;
+
+	/**
+	 * The maximum time, in milliseconds, an event is held before it is passed to
+	 * the event handler, if it accepts a {@link java.util.List} of events.
+	 */
+	long batchTime() default 1000;
+
+	/**
+	 * If the event handler has a {@link CircuitBreaker}, which skips it while it
+	 * is failing or slow.
+	 * 
+	 * <p>
+	 * Breakers are only active once the listener manager has a
+	 * {@link ListenerManager#setCircuitBreakerCoolOff(java.time.Duration)
+	 * cool-off period}. Handlers that must see every event, such as those that
+	 * invalidate caches, should disable their breaker.
+	 * </p>
+	 */
+	boolean circuitBreaker() default true;
+
 }
@@ -0,0 +1,102 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.Objects;
+import java.util.concurrent.Flow;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * A publisher of the events of a type that pass through a
+ * {@link ListenerManager}.
+ * 
+ * <p>
+ * Each subscriber has its own bounded buffer, which holds the events it has
+ * not requested yet. Events are delivered on the listener manager's
+ * {@link ListenerManager#getAsyncExecutor() asynchronous executor}, so a slow
+ * subscriber never blocks the thread dispatching the events. When a buffer is
+ * full, events are handled according to the publisher's
+ * {@link BackpressurePolicy}.
+ * </p>
+ * 
+ * @param <T> The type of event.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class EventPublisher<T extends GenericEvent> implements Flow.Publisher<T> {
+
+	/**
+	 * The listener manager the events are published by.
+	 */
+	private final ListenerManager manager;
+
+	/**
+	 * The type of event.
+	 */
+	private final Class<T> eventType;
+
+	/**
+	 * The maximum number of events buffered for each subscriber.
+	 */
+	private final int bufferSize;
+
+	/**
+	 * What to do with an event when a subscriber's buffer is full.
+	 */
+	private final BackpressurePolicy policy;
+
+	/**
+	 * Construct a new event publisher.
+	 * 
+	 * @param manager    The listener manager the events are published by.
+	 * @param eventType  The type of event.
+	 * @param bufferSize The maximum number of events buffered for each
+	 *                   subscriber.
+	 * @param policy     What to do with an event when a subscriber's buffer is
+	 *                   full.
+	 */
+	EventPublisher(ListenerManager manager, Class<T> eventType, int bufferSize, BackpressurePolicy policy) {
+		this.manager = manager;
+		this.eventType = eventType;
+		this.bufferSize = bufferSize;
+		this.policy = policy;
+	}
+
+	/**
+	 * Get the type of event.
+	 * 
+	 * @return The event type.
+	 */
+	public Class<T> getEventType() {
+		return this.eventType;
+	}
+
+	/**
+	 * Get the maximum number of events buffered for each subscriber.
+	 * 
+	 * @return The buffer size.
+	 */
+	public int getBufferSize() {
+		return this.bufferSize;
+	}
+
+	/**
+	 * Get what to do with an event when a subscriber's buffer is full.
+	 * 
+	 * @return The backpressure policy.
+	 */
+	public BackpressurePolicy getPolicy() {
+		return this.policy;
+	}
+
+	@Override
+	public void subscribe(Flow.Subscriber<? super T> subscriber) {
+		Objects.requireNonNull(subscriber, "subscriber");
+
+		EventSubscription<T> subscription = new EventSubscription<T>(this.manager, subscriber, this.eventType, this.bufferSize, this.policy);
+
+		subscriber.onSubscribe(subscription);
+		this.manager.addSubscription(subscription);
+	}
+
+}
@@ -0,0 +1,265 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.Flow;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * A subscription to an {@link EventPublisher}.
+ * 
+ * <p>
+ * Events are buffered until the subscriber requests them, and delivered by a
+ * drain task on the listener manager's asynchronous executor. At most one drain
+ * task runs at a time, so the subscriber is signalled serially.
+ * </p>
+ * 
+ * @param <T> The type of event.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class EventSubscription<T extends GenericEvent> implements Flow.Subscription {
+
+	/**
+	 * The listener manager the subscription is registered with.
+	 */
+	private final ListenerManager manager;
+
+	/**
+	 * The subscriber.
+	 */
+	private final Flow.Subscriber<? super T> subscriber;
+
+	/**
+	 * The type of event.
+	 */
+	private final Class<T> eventType;
+
+	/**
+	 * The maximum number of buffered events.
+	 */
+	private final int bufferSize;
+
+	/**
+	 * What to do with an event when the buffer is full.
+	 */
+	private final BackpressurePolicy policy;
+
+	/**
+	 * The events that have not been delivered yet, guarded by this subscription.
+	 */
+	private final ArrayDeque<T> buffer;
+
+	/**
+	 * The number of events requested but not delivered yet, guarded by this
+	 * subscription.
+	 */
+	private long requested;
+
+	/**
+	 * The error to signal the subscriber with, guarded by this subscription.
+	 */
+	private Throwable error;
+
+	/**
+	 * If the subscription has been cancelled.
+	 */
+	private volatile boolean cancelled;
+
+	/**
+	 * The number of times the drain task has been requested, used to make sure
+	 * only one runs at a time.
+	 */
+	private final AtomicInteger pending;
+
+	/**
+	 * If the last drain task was rejected by the executor, so the rejection is
+	 * only logged once.
+	 */
+	private volatile boolean rejected;
+
+	/**
+	 * Construct a new event subscription.
+	 * 
+	 * @param manager    The listener manager the subscription is registered with.
+	 * @param subscriber The subscriber.
+	 * @param eventType  The type of event.
+	 * @param bufferSize The maximum number of buffered events.
+	 * @param policy     What to do with an event when the buffer is full.
+	 */
+	EventSubscription(ListenerManager manager, Flow.Subscriber<? super T> subscriber, Class<T> eventType, int bufferSize, BackpressurePolicy policy) {
+		this.manager = manager;
+		this.subscriber = subscriber;
+		this.eventType = eventType;
+		this.bufferSize = bufferSize;
+		this.policy = policy;
+		this.buffer = new ArrayDeque<T>(Math.min(bufferSize, 64));
+		this.pending = new AtomicInteger();
+	}
+
+	/**
+	 * Get the type of event.
+	 * 
+	 * @return The event type.
+	 */
+	Class<T> getEventType() {
+		return this.eventType;
+	}
+
+	/**
+	 * Buffer an event for delivery.
+	 * 
+	 * @param event The event, which must be an instance of the event type.
+	 */
+	void offer(GenericEvent event) {
+		synchronized (this) {
+			if (this.cancelled || this.error != null)
+				return;
+
+			if (this.buffer.size() >= this.bufferSize) {
+				switch (this.policy) {
+				case DROP_OLDEST:
+					this.buffer.poll();
+					break;
+				case DROP_NEWEST:
+					return;
+				case CANCEL:
+					this.error = new IllegalStateException("The subscriber's buffer of " + this.bufferSize + " events overflowed");
+					break;
+				}
+			}
+
+			if (this.error == null)
+				this.buffer.add(this.eventType.cast(event));
+		}
+
+		this.schedule();
+	}
+
+	@Override
+	public void request(long n) {
+		synchronized (this) {
+			if (n <= 0 && this.error == null)
+				this.error = new IllegalArgumentException("The number of requested events must be positive");
+			else if (n > 0)
+				this.requested = this.requested + n < 0 ? Long.MAX_VALUE : this.requested + n;
+		}
+
+		this.schedule();
+	}
+
+	@Override
+	public void cancel() {
+		this.cancelled = true;
+		this.manager.removeSubscription(this);
+	}
+
+	/**
+	 * Run the drain task, unless it is already running. If it is, it will run
+	 * again once it is done.
+	 */
+	private void schedule() {
+		if (this.pending.getAndIncrement() != 0)
+			return;
+
+		try {
+			this.manager.getAsyncExecutor().execute(this::drain);
+			this.rejected = false;
+		} catch (RejectedExecutionException e) {
+			this.reject(e);
+		}
+	}
+
+	/**
+	 * Handle the drain task being rejected by the executor, such as when it is
+	 * saturated or shut down.
+	 * 
+	 * <p>
+	 * The events stay buffered, and the subscription's backpressure policy is
+	 * applied to them as the buffer fills, until a later drain task is accepted.
+	 * If the policy is {@link BackpressurePolicy#CANCEL}, the subscription is
+	 * cancelled and the subscriber is signalled with the rejection instead.
+	 * </p>
+	 * 
+	 * @param e The rejection.
+	 */
+	private void reject(RejectedExecutionException e) {
+		if (!this.rejected) {
+			this.rejected = true;
+			Utils.warn("The executor rejected the delivery of " + this.eventType.getSimpleName() + " events to a subscriber: " + e.getMessage());
+		}
+
+		if (this.policy == BackpressurePolicy.CANCEL && !this.cancelled) {
+			synchronized (this) {
+				this.buffer.clear();
+
+				if (this.error == null)
+					this.error = e;
+			}
+
+			// No drain task is running, as the pending count has not been reset yet.
+			this.cancel();
+
+			try {
+				this.subscriber.onError(e);
+			} catch (RuntimeException ex) {
+				Utils.error("A subscriber to " + this.eventType.getSimpleName() + " events threw an exception: " + ex);
+			}
+		}
+
+		// Allow the next offer or request to schedule a drain task again.
+		this.pending.set(0);
+	}
+
+	/**
+	 * Deliver the requested events to the subscriber, or signal it with an error.
+	 */
+	private void drain() {
+		int missed = 1;
+
+		do {
+			while (!this.cancelled) {
+				T event;
+				Throwable error;
+
+				synchronized (this) {
+					error = this.error;
+					event = error == null && this.requested > 0 ? this.buffer.poll() : null;
+
+					if (event != null && this.requested != Long.MAX_VALUE)
+						this.requested--;
+				}
+
+				if (error != null) {
+					this.cancel();
+					this.subscriber.onError(error);
+					break;
+				}
+
+				if (event == null)
+					break;
+
+				try {
+					this.subscriber.onNext(event);
+				} catch (RuntimeException e) {
+					Utils.error("A subscriber to " + this.eventType.getSimpleName() + " events threw an exception, it has been unsubscribed: " + e);
+					this.cancel();
+				}
+			}
+
+			if (this.cancelled) {
+				synchronized (this) {
+					this.buffer.clear();
+				}
+			}
+
+			missed = this.pending.addAndGet(-missed);
+		} while (missed != 0);
+	}
+
+}
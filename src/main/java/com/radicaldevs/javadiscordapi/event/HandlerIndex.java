@@ -0,0 +1,83 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * An immutable snapshot of the handlers registered with a
+ * {@link ListenerManager}.
+ * 
+ * <p>
+ * The handlers that receive an event class are resolved the first time the
+ * class is dispatched, and cached for the lifetime of the snapshot.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class HandlerIndex {
+
+	/**
+	 * An empty handler array, used when no handlers listen for an event.
+	 */
+	static final RegisteredHandler[] NO_HANDLERS = new RegisteredHandler[0];
+
+	/**
+	 * All of the handlers, sorted by their priority.
+	 */
+	private final RegisteredHandler[] handlers;
+
+	/**
+	 * The handlers that receive each event class.
+	 */
+	private final ConcurrentHashMap<Class<?>, RegisteredHandler[]> resolved;
+
+	/**
+	 * Construct a new handler index.
+	 * 
+	 * @param handlers All of the handlers, sorted by their priority.
+	 */
+	HandlerIndex(RegisteredHandler[] handlers) {
+		this.handlers = handlers;
+		this.resolved = new ConcurrentHashMap<Class<?>, RegisteredHandler[]>();
+	}
+
+	/**
+	 * Get the handlers that receive an event class.
+	 * 
+	 * @param eventClass The concrete class of the event.
+	 * @return The handlers, sorted by their priority.
+	 */
+	RegisteredHandler[] get(Class<?> eventClass) {
+		RegisteredHandler[] handlers = this.resolved.get(eventClass);
+		return handlers != null ? handlers : this.resolved.computeIfAbsent(eventClass, this::resolve);
+	}
+
+	/**
+	 * Get all of the handlers.
+	 * 
+	 * @return The handlers, sorted by their priority.
+	 */
+	RegisteredHandler[] getAll() {
+		return this.handlers;
+	}
+
+	/**
+	 * Find the handlers whose event type the event class is assignable to.
+	 * 
+	 * @param eventClass The concrete class of the event.
+	 * @return The handlers, sorted by their priority.
+	 */
+	private RegisteredHandler[] resolve(Class<?> eventClass) {
+		List<RegisteredHandler> handlers = new ArrayList<RegisteredHandler>();
+
+		// The handlers are already sorted, so filtering them keeps the order.
+		for (RegisteredHandler handler : this.handlers)
+			if (handler.getEventType().isAssignableFrom(eventClass))
+				handlers.add(handler);
+
+		return handlers.isEmpty() ? NO_HANDLERS : handlers.toArray(NO_HANDLERS);
+	}
+
+}
@@ -0,0 +1,246 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Invocation counts and a latency histogram for a {@link RegisteredHandler}.
+ * 
+ * <p>
+ * Every invocation is counted, but only sampled invocations are timed, see
+ * {@link ListenerManager#setMetricsSampleRate(int)}. Latencies are recorded
+ * into power of two buckets, so percentiles are accurate to within a factor of
+ * two.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class HandlerMetrics {
+
+	/**
+	 * The number of histogram buckets, one for each bit of a long.
+	 */
+	private static final int BUCKETS = 64;
+
+	/**
+	 * The number of times the handler has been invoked.
+	 */
+	private final LongAdder invocations;
+
+	/**
+	 * The number of timed invocations in each bucket, bucket n holds latencies
+	 * less than 2^n nanoseconds.
+	 */
+	private final AtomicLongArray histogram;
+
+	/**
+	 * The total latency of the timed invocations, in nanoseconds.
+	 */
+	private final LongAdder totalNanos;
+
+	/**
+	 * The highest latency of a timed invocation, in nanoseconds.
+	 */
+	private final AtomicLong maxNanos;
+
+	/**
+	 * The number of timed invocations that exceeded the slow handler threshold.
+	 */
+	private final LongAdder slowInvocations;
+
+	/**
+	 * When the last slow handler warning was logged, in nanoseconds.
+	 */
+	private final AtomicLong lastWarning;
+
+	/**
+	 * The number of invocations that threw an exception.
+	 */
+	private final LongAdder failures;
+
+	/**
+	 * When the last exception thrown by the handler was logged, in nanoseconds.
+	 */
+	private final AtomicLong lastFailureReport;
+
+	/**
+	 * Construct new handler metrics.
+	 */
+	HandlerMetrics() {
+		this.invocations = new LongAdder();
+		this.histogram = new AtomicLongArray(BUCKETS);
+		this.totalNanos = new LongAdder();
+		this.maxNanos = new AtomicLong();
+		this.slowInvocations = new LongAdder();
+		this.lastWarning = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+		this.failures = new LongAdder();
+		this.lastFailureReport = new AtomicLong(System.nanoTime() - Long.MAX_VALUE / 2);
+	}
+
+	/**
+	 * Count an invocation.
+	 */
+	void recordInvocation() {
+		this.invocations.increment();
+	}
+
+	/**
+	 * Record the latency of a timed invocation.
+	 * 
+	 * @param nanos The latency, in nanoseconds.
+	 */
+	void recordLatency(long nanos) {
+		this.histogram.incrementAndGet(Math.min(BUCKETS - 1, 64 - Long.numberOfLeadingZeros(nanos)));
+		this.totalNanos.add(nanos);
+		this.maxNanos.accumulateAndGet(nanos, Math::max);
+	}
+
+	/**
+	 * Count a slow invocation, and check if a warning should be logged for it.
+	 * 
+	 * @param interval The minimum time between warnings, in nanoseconds.
+	 * @return If a warning should be logged.
+	 */
+	boolean recordSlowInvocation(long interval) {
+		this.slowInvocations.increment();
+
+		long now = System.nanoTime();
+		long last = this.lastWarning.get();
+
+		return now - last >= interval && this.lastWarning.compareAndSet(last, now);
+	}
+
+	/**
+	 * Count an invocation that threw an exception, and check if the exception
+	 * should be logged.
+	 * 
+	 * @param interval The minimum time between logged exceptions, in nanoseconds.
+	 * @return If the exception should be logged.
+	 */
+	boolean recordFailure(long interval) {
+		this.failures.increment();
+
+		long now = System.nanoTime();
+		long last = this.lastFailureReport.get();
+
+		return now - last >= interval && this.lastFailureReport.compareAndSet(last, now);
+	}
+
+	/**
+	 * Get the number of times the handler has been invoked.
+	 * 
+	 * @return The number of invocations.
+	 */
+	public long getInvocations() {
+		return this.invocations.sum();
+	}
+
+	/**
+	 * Get the number of invocations that threw an exception.
+	 * 
+	 * @return The number of failed invocations.
+	 */
+	public long getFailures() {
+		return this.failures.sum();
+	}
+
+	/**
+	 * Get the number of invocations that were timed.
+	 * 
+	 * @return The number of timed invocations.
+	 */
+	public long getSampleCount() {
+		long count = 0;
+
+		for (int i = 0; i < BUCKETS; i++)
+			count += this.histogram.get(i);
+
+		return count;
+	}
+
+	/**
+	 * Get the number of timed invocations that exceeded the slow handler
+	 * threshold.
+	 * 
+	 * @return The number of slow invocations.
+	 */
+	public long getSlowInvocations() {
+		return this.slowInvocations.sum();
+	}
+
+	/**
+	 * Get the mean latency of the timed invocations.
+	 * 
+	 * @return The mean latency in nanoseconds, or 0 if no invocations were timed.
+	 */
+	public long getMeanNanos() {
+		long count = this.getSampleCount();
+		return count == 0 ? 0 : this.totalNanos.sum() / count;
+	}
+
+	/**
+	 * Get the highest latency of the timed invocations.
+	 * 
+	 * @return The highest latency in nanoseconds.
+	 */
+	public long getMaxNanos() {
+		return this.maxNanos.get();
+	}
+
+	/**
+	 * Get an upper bound for a latency percentile of the timed invocations.
+	 * 
+	 * @param percentile The percentile, between 0 and 100.
+	 * @return The upper bound of the percentile in nanoseconds, or 0 if no
+	 *         invocations were timed.
+	 */
+	public long getPercentileNanos(double percentile) {
+		if (percentile < 0 || percentile > 100)
+			throw new IllegalArgumentException("The percentile must be between 0 and 100");
+
+		long[] counts = new long[BUCKETS];
+		long total = 0;
+
+		for (int i = 0; i < BUCKETS; i++)
+			total += counts[i] = this.histogram.get(i);
+
+		long target = (long) Math.ceil(total * percentile / 100);
+		long seen = 0;
+
+		for (int i = 0; i < BUCKETS; i++) {
+			seen += counts[i];
+
+			if (seen >= target && seen > 0)
+				return Math.min((1L << i) - 1, this.getMaxNanos());
+		}
+
+		return 0;
+	}
+
+	/**
+	 * Reset the metrics.
+	 */
+	public void reset() {
+		this.invocations.reset();
+		this.totalNanos.reset();
+		this.maxNanos.set(0);
+		this.slowInvocations.reset();
+		this.failures.reset();
+
+		for (int i = 0; i < BUCKETS; i++)
+			this.histogram.set(i, 0);
+	}
+
+	@Override
+	public String toString() {
+		return "invocations=" + this.getInvocations() 
+			+ ", mean=" + this.getMeanNanos() / 1000 + "us"
+			+ ", p99=" + this.getPercentileNanos(99) / 1000 + "us"
+			+ ", max=" + this.getMaxNanos() / 1000 + "us"
+			+ ", slow=" + this.getSlowInvocations()
+			+ ", failures=" + this.getFailures();
+	}
+
+}
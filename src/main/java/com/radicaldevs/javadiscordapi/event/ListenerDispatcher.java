@@ -0,0 +1,39 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+
+/**
+ * A dispatcher generated at compile time for a {@link Listener} class.
+ * 
+ * <p>
+ * Dispatchers are generated by the
+ * {@link com.radicaldevs.javadiscordapi.processor.EventHandlerProcessor}, and
+ * are named after the listener's binary name with a {@value #SUFFIX} suffix.
+ * When a listener is registered with a {@link ListenerManager}, its dispatcher
+ * is used instead of scanning the listener's methods with reflection.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public interface ListenerDispatcher {
+
+	/**
+	 * The suffix appended to a listener's binary name to get the name of its
+	 * dispatcher.
+	 */
+	String SUFFIX = "$$EventDispatcher";
+
+	/**
+	 * Create executors for each of the listener's {@link EventHandler} methods.
+	 * 
+	 * @param listener The listener, this is always an instance of the class the
+	 *                 dispatcher was generated for.
+	 * @return The listener's event handler methods, mapped to their executors.
+	 * @throws NoSuchMethodException If one of the event handler methods no longer
+	 *                               exists.
+	 */
+	Map<Method, EventExecutor> createExecutors(Listener listener) throws NoSuchMethodException;
+
+}
@@ -1,10 +1,29 @@
 package com.radicaldevs.javadiscordapi.event;
 
+import java.lang.reflect.Method;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.WildcardType;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import javax.annotation.Nonnull;
 
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
 /**
  * A listener management utility.
  * 
@@ -15,21 +34,113 @@ public class ListenerManager {
 
 	/**
 	 * The listeners being managed by this manager.
+	 * 
+	 * <p>
+	 * This list is never modified, a modified copy replaces it whenever a listener
+	 * is added or removed.
+	 * </p>
+	 */
+	private volatile List<Listener> listeners;
+
+	/**
+	 * The handlers declared by each of the listeners.
+	 */
+	private Map<Listener, RegisteredHandler[]> listenerHandlers;
+
+	/**
+	 * The registered handlers.
+	 * 
+	 * <p>
+	 * The index is rebuilt and replaced whenever a listener is added or removed.
+	 * </p>
+	 */
+	private volatile HandlerIndex handlers;
+
+	/**
+	 * The subscriptions to the listener manager's publishers.
+	 * 
+	 * <p>
+	 * This array is never modified, a modified copy replaces it whenever a
+	 * subscription is added or removed.
+	 * </p>
+	 */
+	private volatile EventSubscription<?>[] subscriptions;
+
+	/**
+	 * The executor that runs asynchronous handlers.
+	 */
+	private volatile Executor asyncExecutor;
+
+	/**
+	 * The pool that runs parallel handlers.
+	 */
+	private volatile ForkJoinPool parallelPool;
+
+	/**
+	 * One in this many handler invocations is timed, or 0 to disable timing.
 	 */
-	private List<Listener> listeners;
+	private volatile int metricsSampleRate;
+
+	/**
+	 * The time a handler can take before a warning is logged, or null to disable
+	 * the warnings.
+	 */
+	private volatile Duration slowHandlerThreshold;
+
+	/**
+	 * The time a failing or slow handler is skipped for, or null to disable the
+	 * circuit breakers.
+	 */
+	private volatile Duration circuitBreakerCoolOff;
 
 	/**
 	 * Construct a new listener manager.
 	 */
 	public ListenerManager() {
-		this.listeners = new ArrayList<Listener>();
+		this.listeners = Collections.emptyList();
+		this.listenerHandlers = new IdentityHashMap<Listener, RegisteredHandler[]>();
+		this.handlers = new HandlerIndex(HandlerIndex.NO_HANDLERS);
+		this.subscriptions = new EventSubscription<?>[0];
+		this.asyncExecutor = createDefaultAsyncExecutor();
+		this.parallelPool = ForkJoinPool.commonPool();
+		this.metricsSampleRate = 1;
+		this.slowHandlerThreshold = Duration.ofSeconds(1);
+		this.circuitBreakerCoolOff = null;
+	}
+
+	/**
+	 * Create the default executor for asynchronous handlers.
+	 * 
+	 * <p>
+	 * Virtual threads are used if the runtime supports them, otherwise a cached
+	 * pool of daemon threads is used.
+	 * </p>
+	 * 
+	 * @return The executor.
+	 */
+	private static Executor createDefaultAsyncExecutor() {
+		try {
+			return (Executor) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+		} catch (ReflectiveOperationException e) {
+			// Virtual threads are not supported by this runtime.
+		}
+
+		AtomicInteger threadCount = new AtomicInteger();
+
+		return Executors.newCachedThreadPool(runnable -> {
+			Thread thread = new Thread(runnable, "Async-Event-Handler-" + threadCount.incrementAndGet());
+			thread.setDaemon(true);
+			return thread;
+		});
 	}
 
 	/**
 	 * Get the listener's that this listener manager is managing.
 	 * 
 	 * <p>
-	 * Note: Modifications to this list will affect the original.
+	 * Note: This is an immutable snapshot, it will not reflect listeners that are
+	 * added or removed later. Use {@link #addListener(Listener)} and
+	 * {@link #removeListener(Listener)} to modify the listeners.
 	 * </p>
 	 * 
 	 * @return The listeners.
@@ -38,6 +149,245 @@ public class ListenerManager {
 		return this.listeners;
 	}
 
+	/**
+	 * Get the handlers that receive an event class, sorted by their priority.
+	 * 
+	 * <p>
+	 * A handler receives an event if the event is assignable to the handler's
+	 * event type, so handlers for generic events such as
+	 * {@link net.dv8tion.jda.api.events.guild.GenericGuildEvent} receive all of
+	 * their sub-events.
+	 * </p>
+	 * 
+	 * <p>
+	 * Note: The returned array must not be modified.
+	 * </p>
+	 * 
+	 * @param eventClass The concrete class of the event.
+	 * @return The handlers.
+	 */
+	public RegisteredHandler[] getHandlers(Class<? extends GenericEvent> eventClass) {
+		return this.handlers.get(eventClass);
+	}
+
+	/**
+	 * Get the executor that runs asynchronous handlers.
+	 * 
+	 * @return The executor.
+	 * @see EventHandler#async()
+	 */
+	public Executor getAsyncExecutor() {
+		return this.asyncExecutor;
+	}
+
+	/**
+	 * Set the executor that runs asynchronous handlers.
+	 * 
+	 * <p>
+	 * Note: The previous executor will not be shut down.
+	 * </p>
+	 * 
+	 * @param asyncExecutor The executor.
+	 * @see EventHandler#async()
+	 */
+	public void setAsyncExecutor(@Nonnull Executor asyncExecutor) {
+		this.asyncExecutor = asyncExecutor;
+	}
+
+	/**
+	 * Get the pool that runs parallel handlers.
+	 * 
+	 * <p>
+	 * The common pool is used by default.
+	 * </p>
+	 * 
+	 * @return The pool.
+	 * @see EventHandler#parallel()
+	 */
+	public ForkJoinPool getParallelPool() {
+		return this.parallelPool;
+	}
+
+	/**
+	 * Set the pool that runs parallel handlers.
+	 * 
+	 * @param parallelPool The pool.
+	 * @see EventHandler#parallel()
+	 */
+	public void setParallelPool(@Nonnull ForkJoinPool parallelPool) {
+		this.parallelPool = parallelPool;
+	}
+
+	/**
+	 * Get how often handler invocations are timed.
+	 * 
+	 * @return One in this many invocations is timed, or 0 if timing is disabled.
+	 * @see RegisteredHandler#getMetrics()
+	 */
+	public int getMetricsSampleRate() {
+		return this.metricsSampleRate;
+	}
+
+	/**
+	 * Set how often handler invocations are timed.
+	 * 
+	 * <p>
+	 * By default every invocation is timed. Invocations are always counted.
+	 * </p>
+	 * 
+	 * @param metricsSampleRate One in this many invocations will be timed, or 0 to
+	 *                          disable timing.
+	 * @see RegisteredHandler#getMetrics()
+	 */
+	public void setMetricsSampleRate(int metricsSampleRate) {
+		if (metricsSampleRate < 0)
+			throw new IllegalArgumentException("The sample rate can not be negative");
+
+		this.metricsSampleRate = metricsSampleRate;
+	}
+
+	/**
+	 * Get the time a handler can take before a warning is logged.
+	 * 
+	 * @return The threshold, or null if the warnings are disabled.
+	 */
+	public Duration getSlowHandlerThreshold() {
+		return this.slowHandlerThreshold;
+	}
+
+	/**
+	 * Set the time a handler can take before a warning is logged.
+	 * 
+	 * <p>
+	 * Only timed invocations are checked, and a handler will log at most one
+	 * warning every 10 seconds. The default threshold is 1 second.
+	 * </p>
+	 * 
+	 * @param slowHandlerThreshold The threshold, or null to disable the warnings.
+	 */
+	public void setSlowHandlerThreshold(Duration slowHandlerThreshold) {
+		this.slowHandlerThreshold = slowHandlerThreshold;
+	}
+
+	/**
+	 * Get the time a failing or slow handler is skipped for.
+	 * 
+	 * @return The cool-off period, or null if the circuit breakers are disabled.
+	 */
+	public Duration getCircuitBreakerCoolOff() {
+		return this.circuitBreakerCoolOff;
+	}
+
+	/**
+	 * Set the time a failing or slow handler is skipped for, before it is probed
+	 * with another event.
+	 * 
+	 * <p>
+	 * The circuit breakers are disabled by default, as a handler that is skipped
+	 * misses events. When they are enabled, every handler has a breaker unless
+	 * its {@link EventHandler#circuitBreaker()} annotation disables it, which the
+	 * api's internal listeners do.
+	 * </p>
+	 * 
+	 * @param circuitBreakerCoolOff The cool-off period, or null to disable the
+	 *                              circuit breakers.
+	 * @see RegisteredHandler#getCircuitBreaker()
+	 */
+	public void setCircuitBreakerCoolOff(Duration circuitBreakerCoolOff) {
+		this.circuitBreakerCoolOff = circuitBreakerCoolOff;
+	}
+
+	/**
+	 * Get all of the registered handlers, sorted by their priority.
+	 * 
+	 * <p>
+	 * This can be used to find hot or slow handlers through their
+	 * {@link RegisteredHandler#getMetrics() metrics}.
+	 * </p>
+	 * 
+	 * @return The handlers.
+	 */
+	public List<RegisteredHandler> getRegisteredHandlers() {
+		return Collections.unmodifiableList(Arrays.asList(this.handlers.getAll()));
+	}
+
+	/**
+	 * Get a publisher of the events of a type, which buffers up to 256 events for
+	 * each subscriber and drops the oldest events when a buffer is full.
+	 * 
+	 * @param <T>       The type of event.
+	 * @param eventType The type of event, events that are assignable to it are
+	 *                  published.
+	 * @return The publisher.
+	 * @see #getPublisher(Class, int, BackpressurePolicy)
+	 */
+	public <T extends GenericEvent> EventPublisher<T> getPublisher(@Nonnull Class<T> eventType) {
+		return this.getPublisher(eventType, 256, BackpressurePolicy.DROP_OLDEST);
+	}
+
+	/**
+	 * Get a publisher of the events of a type.
+	 * 
+	 * <p>
+	 * Events are published after they have been passed to their synchronous
+	 * handlers, cancelled events are not published.
+	 * </p>
+	 * 
+	 * @param <T>        The type of event.
+	 * @param eventType  The type of event, events that are assignable to it are
+	 *                   published.
+	 * @param bufferSize The maximum number of events buffered for each
+	 *                   subscriber.
+	 * @param policy     What to do with an event when a subscriber's buffer is
+	 *                   full.
+	 * @return The publisher.
+	 * @throws IllegalArgumentException If the buffer size is not positive.
+	 */
+	public <T extends GenericEvent> EventPublisher<T> getPublisher(@Nonnull Class<T> eventType, int bufferSize, @Nonnull BackpressurePolicy policy) {
+		if (bufferSize < 1)
+			throw new IllegalArgumentException("The buffer size must be positive");
+
+		return new EventPublisher<T>(this, eventType, bufferSize, policy);
+	}
+
+	/**
+	 * Publish an event to the subscribers of the listener manager's publishers.
+	 * 
+	 * @param event The event.
+	 */
+	public void publish(GenericEvent event) {
+		EventSubscription<?>[] subscriptions = this.subscriptions;
+
+		for (EventSubscription<?> subscription : subscriptions) {
+			if (subscription.getEventType().isInstance(event))
+				subscription.offer(event);
+		}
+	}
+
+	/**
+	 * Add a subscription to the listener manager.
+	 * 
+	 * @param subscription The subscription.
+	 */
+	synchronized void addSubscription(EventSubscription<?> subscription) {
+		EventSubscription<?>[] subscriptions = Arrays.copyOf(this.subscriptions, this.subscriptions.length + 1);
+		subscriptions[subscriptions.length - 1] = subscription;
+
+		this.subscriptions = subscriptions;
+	}
+
+	/**
+	 * Remove a subscription from the listener manager.
+	 * 
+	 * @param subscription The subscription.
+	 */
+	synchronized void removeSubscription(EventSubscription<?> subscription) {
+		List<EventSubscription<?>> subscriptions = new ArrayList<EventSubscription<?>>(Arrays.asList(this.subscriptions));
+
+		if (subscriptions.remove(subscription))
+			this.subscriptions = subscriptions.toArray(new EventSubscription<?>[0]);
+	}
+
 	/**
 	 * Add a listener to the listener manager.
 	 * 
@@ -47,8 +397,15 @@ public class ListenerManager {
 	 * 
 	 * @param listener The listener to add.
 	 */
-	public void addListener(@Nonnull Listener listener) {
-		this.listeners.add(listener);
+	public synchronized void addListener(@Nonnull Listener listener) {
+		if (!this.listenerHandlers.containsKey(listener))
+			this.listenerHandlers.put(listener, this.createHandlers(listener));
+
+		List<Listener> listeners = new ArrayList<Listener>(this.listeners);
+		listeners.add(listener);
+
+		this.listeners = Collections.unmodifiableList(listeners);
+		this.rebuildHandlers();
 	}
 
 	/**
@@ -64,10 +421,196 @@ public class ListenerManager {
 	/**
 	 * Remove a listener from the listener manager.
 	 * 
+	 * <p>
+	 * Once the listener is no longer registered, the pending batches of its
+	 * handlers are delivered, and they will not receive any more events.
+	 * </p>
+	 * 
 	 * @param listener The listener to remove.
 	 */
 	public void removeListener(Listener listener) {
-		this.listeners.remove(listener);
+		RegisteredHandler[] removed;
+
+		synchronized (this) {
+			List<Listener> listeners = new ArrayList<Listener>(this.listeners);
+			int index = listeners.indexOf(listener);
+
+			if (index == -1)
+				return;
+
+			// The handlers are registered by identity, which may not be the instance that was passed in.
+			Listener registered = listeners.remove(index);
+
+			this.listeners = Collections.unmodifiableList(listeners);
+			removed = this.listenerHandlers.get(registered);
+			this.rebuildHandlers();
+
+			// The listener was added more than once, so its handlers are still registered.
+			if (this.listenerHandlers.containsKey(registered))
+				return;
+		}
+
+		// Deliver the batches outside of the lock, as their handlers may add or remove listeners.
+		for (RegisteredHandler handler : removed)
+			handler.close();
+	}
+
+	/**
+	 * Deliver the pending batches of every handler that accepts batches, such as
+	 * before the bot is stopped.
+	 */
+	public void flushBatches() {
+		for (RegisteredHandler handler : this.handlers.getAll())
+			handler.flush();
+	}
+
+	/**
+	 * Find the {@link EventHandler} methods declared by a listener.
+	 * 
+	 * <p>
+	 * If a {@link ListenerDispatcher} was generated for the listener's class it
+	 * will be used, otherwise the listener's methods are scanned.
+	 * </p>
+	 * 
+	 * @param listener The listener.
+	 * @return The listener's handlers.
+	 */
+	private RegisteredHandler[] createHandlers(Listener listener) {
+		ListenerDispatcher dispatcher = this.findDispatcher(listener.getClass());
+
+		if (dispatcher != null) {
+			try {
+				List<RegisteredHandler> handlers = new ArrayList<RegisteredHandler>();
+
+				for (Entry<Method, EventExecutor> entry : dispatcher.createExecutors(listener).entrySet())
+					if (getEventType(entry.getKey()) != null)
+						handlers.add(this.createHandler(listener, entry.getKey(), entry.getValue()));
+
+				return handlers.toArray(HandlerIndex.NO_HANDLERS);
+			} catch (NoSuchMethodException e) {
+				Utils.warn("The dispatcher for " + listener.getClass().getName() + " is out of date, falling back to reflection.");
+			}
+		}
+
+		List<RegisteredHandler> handlers = new ArrayList<RegisteredHandler>();
+
+		for (Method method : listener.getClass().getMethods()) {
+			if (method.getDeclaredAnnotation(EventHandler.class) == null || getEventType(method) == null)
+				continue;
+
+			try {
+				handlers.add(this.createHandler(listener, method, EventExecutors.create(listener, method)));
+			} catch (IllegalAccessException e) {
+				Utils.error("Could not register " + listener.getClass().getName() + "#" + method.getName() + ", the method is not accessible.");
+			}
+		}
+
+		return handlers.toArray(HandlerIndex.NO_HANDLERS);
+	}
+
+	/**
+	 * Create a handler.
+	 * 
+	 * @param listener The listener that declares the handler.
+	 * @param method   The event handler method.
+	 * @param executor The executor that invokes the handler.
+	 * @return The handler.
+	 */
+	private RegisteredHandler createHandler(Listener listener, Method method, EventExecutor executor) {
+		boolean batch = method.getParameterTypes()[0] == List.class;
+		return new RegisteredHandler(this, listener, method, getEventType(method), batch, executor);
+	}
+
+	/**
+	 * Get the type of event an event handler method accepts.
+	 * 
+	 * <p>
+	 * The method must have a single parameter, which is either an event, or a
+	 * {@link List} of events.
+	 * </p>
+	 * 
+	 * @param method The method.
+	 * @return The event type, or null if the method can not accept events.
+	 */
+	@SuppressWarnings("unchecked")
+	private static Class<? extends GenericEvent> getEventType(Method method) {
+		if (method.getParameterCount() != 1)
+			return null;
+
+		Class<?> eventType = method.getParameterTypes()[0];
+
+		// Unwrap batches of events.
+		if (eventType == List.class) {
+			Type type = method.getGenericParameterTypes()[0];
+
+			if (!(type instanceof ParameterizedType))
+				return null;
+
+			type = ((ParameterizedType) type).getActualTypeArguments()[0];
+
+			if (type instanceof WildcardType)
+				type = ((WildcardType) type).getUpperBounds()[0];
+
+			if (type instanceof ParameterizedType)
+				type = ((ParameterizedType) type).getRawType();
+
+			if (!(type instanceof Class))
+				return null;
+
+			eventType = (Class<?>) type;
+		}
+
+		if (!GenericEvent.class.isAssignableFrom(eventType))
+			return null;
+
+		return (Class<? extends GenericEvent>) eventType;
+	}
+
+	/**
+	 * Find the dispatcher that was generated for a listener class.
+	 * 
+	 * @param type The listener class.
+	 * @return The dispatcher, or null if one was not generated.
+	 */
+	private ListenerDispatcher findDispatcher(Class<?> type) {
+		try {
+			Class<?> dispatcher = Class.forName(type.getName() + ListenerDispatcher.SUFFIX, true, type.getClassLoader());
+
+			if (ListenerDispatcher.class.isAssignableFrom(dispatcher))
+				return (ListenerDispatcher) dispatcher.getDeclaredConstructor().newInstance();
+		} catch (ClassNotFoundException e) {
+			// No dispatcher was generated for the listener.
+		} catch (ReflectiveOperationException | LinkageError e) {
+			Utils.warn("Could not load the dispatcher for " + type.getName() + ", falling back to reflection.");
+		}
+
+		return null;
+	}
+
+	/**
+	 * Rebuild the handler index, and publish it.
+	 * 
+	 * <p>
+	 * Handlers belonging to listeners that are no longer registered are
+	 * discarded.
+	 * </p>
+	 */
+	private void rebuildHandlers() {
+		Map<Listener, RegisteredHandler[]> listenerHandlers = new IdentityHashMap<Listener, RegisteredHandler[]>();
+		List<RegisteredHandler> handlers = new ArrayList<RegisteredHandler>();
+
+		for (Listener listener : this.listeners) {
+			RegisteredHandler[] declared = this.listenerHandlers.get(listener);
+			listenerHandlers.put(listener, declared);
+			handlers.addAll(Arrays.asList(declared));
+		}
+
+		// The sort is stable, so handlers with the same priority keep their
+		// registration order.
+		handlers.sort(Comparator.comparing(RegisteredHandler::getPriority));
+
+		this.listenerHandlers = listenerHandlers;
+		this.handlers = new HandlerIndex(handlers.toArray(HandlerIndex.NO_HANDLERS));
 	}
 
 }
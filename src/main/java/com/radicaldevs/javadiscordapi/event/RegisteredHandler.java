@@ -0,0 +1,359 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * An {@link EventHandler} method that has been registered with a
+ * {@link ListenerManager}.
+ *
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class RegisteredHandler {
+
+	/**
+	 * The minimum time between slow handler warnings, in nanoseconds.
+	 */
+	private static final long SLOW_WARNING_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	/**
+	 * The minimum time between logged exceptions, in nanoseconds.
+	 */
+	private static final long FAILURE_REPORT_INTERVAL = TimeUnit.SECONDS.toNanos(10);
+
+	/**
+	 * The listener manager the handler is registered with.
+	 */
+	private final ListenerManager manager;
+
+	/**
+	 * The listener that declares the handler.
+	 */
+	private final Listener listener;
+
+	/**
+	 * The event handler method.
+	 */
+	private final Method method;
+
+	/**
+	 * The type of event the handler accepts.
+	 */
+	private final Class<? extends GenericEvent> eventType;
+
+	/**
+	 * The executor that invokes the handler.
+	 */
+	private final EventExecutor executor;
+
+	/**
+	 * The priority of the handler.
+	 */
+	private final EventPriority priority;
+
+	/**
+	 * If the handler runs asynchronously.
+	 */
+	private final boolean async;
+
+	/**
+	 * If the handler can run in parallel with other handlers.
+	 */
+	private final boolean parallel;
+
+	/**
+	 * If the handler receives cancelled events.
+	 */
+	private final boolean ignoreCancelled;
+
+	/**
+	 * The handler's compiled filters, or null if it does not declare any.
+	 */
+	private final Predicate<GenericEvent> filter;
+
+	/**
+	 * The handler's metrics.
+	 */
+	private final HandlerMetrics metrics;
+
+	/**
+	 * The handler's circuit breaker, or null if it does not have one.
+	 */
+	private final CircuitBreaker breaker;
+
+	/**
+	 * Accumulates the handler's batches, or null if it accepts single events.
+	 */
+	private final EventBatcher batcher;
+
+	/**
+	 * Construct a new registered handler.
+	 *
+	 * @param manager   The listener manager the handler is registered with.
+	 * @param listener  The listener that declares the handler.
+	 * @param method    The event handler method.
+	 * @param eventType The type of event the handler accepts.
+	 * @param batch     If the handler accepts batches of events.
+	 * @param executor  The executor that invokes the handler.
+	 */
+	RegisteredHandler(ListenerManager manager, Listener listener, Method method, Class<? extends GenericEvent> eventType, boolean batch, EventExecutor executor) {
+		this.manager = manager;
+		this.listener = listener;
+		this.method = method;
+		this.eventType = eventType;
+		this.executor = executor;
+		EventHandler annotation = method.getDeclaredAnnotation(EventHandler.class);
+		this.priority = annotation.priority();
+		this.async = annotation.async();
+		this.parallel = annotation.parallel() && !annotation.async();
+		this.ignoreCancelled = annotation.ignoreCancelled();
+		this.filter = EventFilters.compile(annotation);
+		this.metrics = new HandlerMetrics();
+		this.breaker = annotation.circuitBreaker() ? new CircuitBreaker(manager, this) : null;
+		this.batcher = batch ? new EventBatcher(this, annotation.batchSize(), annotation.batchTime(), manager::getAsyncExecutor) : null;
+	}
+
+	/**
+	 * Get the listener that declares the handler.
+	 *
+	 * @return The listener.
+	 */
+	public Listener getListener() {
+		return this.listener;
+	}
+
+	/**
+	 * Get the event handler method.
+	 *
+	 * @return The event handler method.
+	 */
+	public Method getMethod() {
+		return this.method;
+	}
+
+	/**
+	 * Get the type of event the handler accepts.
+	 *
+	 * @return The event type.
+	 */
+	public Class<? extends GenericEvent> getEventType() {
+		return this.eventType;
+	}
+
+	/**
+	 * Get the priority of the handler.
+	 *
+	 * @return The handler's priority.
+	 */
+	public EventPriority getPriority() {
+		return this.priority;
+	}
+
+	/**
+	 * Check if the handler runs asynchronously.
+	 *
+	 * @return If the handler runs asynchronously.
+	 * @see EventHandler#async()
+	 */
+	public boolean isAsync() {
+		return this.async;
+	}
+
+	/**
+	 * Check if the handler can run in parallel with other handlers of the same
+	 * priority.
+	 *
+	 * @return If the handler can run in parallel.
+	 * @see EventHandler#parallel()
+	 */
+	public boolean isParallel() {
+		return this.parallel;
+	}
+
+	/**
+	 * Check if the handler receives cancelled events.
+	 *
+	 * @return If the handler receives cancelled events.
+	 * @see EventHandler#ignoreCancelled()
+	 */
+	public boolean isIgnoreCancelled() {
+		return this.ignoreCancelled;
+	}
+
+	/**
+	 * Check if the handler accepts batches of events.
+	 *
+	 * @return If the handler accepts batches.
+	 * @see EventHandler#batchSize()
+	 */
+	public boolean isBatch() {
+		return this.batcher != null;
+	}
+
+	/**
+	 * Get the handler's invocation counts and latency histogram.
+	 *
+	 * @return The handler's metrics.
+	 */
+	public HandlerMetrics getMetrics() {
+		return this.metrics;
+	}
+
+	/**
+	 * Get the handler's circuit breaker, which skips the handler while it is
+	 * failing or persistently slow.
+	 *
+	 * @return The handler's circuit breaker, or null if it was disabled by its
+	 *         {@link EventHandler#circuitBreaker()} annotation.
+	 */
+	public CircuitBreaker getCircuitBreaker() {
+		return this.breaker;
+	}
+
+	/**
+	 * Check if the handler should be passed an event.
+	 *
+	 * <p>
+	 * This checks if the event was cancelled, if it passes the filters declared
+	 * by the handler's {@link EventHandler} annotation, and if the handler's
+	 * {@link CircuitBreaker} allows it to be called.
+	 * </p>
+	 *
+	 * @param context The context of the event.
+	 * @return If the handler should be passed the event.
+	 */
+	public boolean accepts(EventContext context) {
+		if (context.isCancelled() && !this.ignoreCancelled)
+			return false;
+
+		if (this.filter != null && !this.filter.test(context.getEvent()))
+			return false;
+
+		return this.breaker == null || this.breaker.allowsCall();
+	}
+
+	/**
+	 * Pass an event to the handler.
+	 *
+	 * <p>
+	 * The context is bound to the current thread while the handler runs, so the
+	 * handler can use {@link EventContext#cancel(GenericEvent)}. If the handler
+	 * accepts batches, the event is added to its current batch instead.
+	 * </p>
+	 *
+	 * @param context The context of the event.
+	 *
+	 * @throws Exception If the handler threw an exception.
+	 */
+	public void callEvent(EventContext context) throws Exception {
+		if (this.batcher != null) {
+			this.batcher.add(context.getEvent());
+			return;
+		}
+
+		EventContext previous = EventContext.bind(context);
+
+		try {
+			this.invoke(context.getEvent());
+		} finally {
+			EventContext.bind(previous);
+		}
+	}
+
+	/**
+	 * Deliver the handler's pending batch, if it accepts batches.
+	 */
+	void flush() {
+		if (this.batcher != null)
+			this.batcher.flush();
+	}
+
+	/**
+	 * Deliver the handler's pending batch and stop accepting events, if it accepts
+	 * batches, as the handler has been removed.
+	 */
+	void close() {
+		if (this.batcher != null)
+			this.batcher.close();
+	}
+
+	/**
+	 * Invoke the handler, and record its metrics and outcome.
+	 *
+	 * <p>
+	 * If the handler throws an exception or an error, it is logged before it is
+	 * rethrown. A handler logs at most one exception every 10 seconds, the others
+	 * are only counted.
+	 * </p>
+	 *
+	 * @param event The event, or batch of events.
+	 * @throws Exception If the handler threw an exception.
+	 */
+	void invoke(Object event) throws Exception {
+		int sampleRate = this.manager.getMetricsSampleRate();
+		boolean timed = sampleRate == 1 || (sampleRate > 1 && ThreadLocalRandom.current().nextInt(sampleRate) == 0);
+		long start = timed ? System.nanoTime() : 0;
+		boolean failed = true;
+		Throwable failure = null;
+
+		this.metrics.recordInvocation();
+
+		try {
+			this.executor.execute(event);
+			failed = false;
+		} catch (Exception | Error e) {
+			failure = e;
+		} finally {
+			boolean slow = timed && this.recordLatency(System.nanoTime() - start);
+			if (this.breaker != null)
+				this.breaker.record(failed, slow);
+		}
+
+		if (failure == null)
+			return;
+
+		if (this.metrics.recordFailure(FAILURE_REPORT_INTERVAL)) {
+			Utils.error(this + " threw an exception while handling an event (" + this.metrics.getFailures() + " failures in total):");
+			failure.printStackTrace();
+		}
+
+		if (failure instanceof Error)
+			throw (Error) failure;
+
+		throw (Exception) failure;
+	}
+
+	/**
+	 * Record the latency of a timed invocation, and warn if it was slow.
+	 *
+	 * @param nanos The latency, in nanoseconds.
+	 * @return If the invocation was slow.
+	 */
+	private boolean recordLatency(long nanos) {
+		this.metrics.recordLatency(nanos);
+
+		Duration threshold = this.manager.getSlowHandlerThreshold();
+
+		if (threshold == null || nanos <= threshold.toNanos())
+			return false;
+
+		if (this.metrics.recordSlowInvocation(SLOW_WARNING_INTERVAL))
+			Utils.warn(this + " took " + TimeUnit.NANOSECONDS.toMillis(nanos) + "ms to handle an event, exceeding the " + threshold.toMillis() + "ms threshold (" + this.metrics + ").");
+
+		return true;
+	}
+
+	@Override
+	public String toString() {
+		return this.listener.getClass().getName() + "#" + this.method.getName() + "(" + this.eventType.getSimpleName() + ")";
+	}
+
+}
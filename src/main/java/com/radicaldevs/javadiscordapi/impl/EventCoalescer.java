@@ -0,0 +1,234 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Coalesces bursts of high frequency events before they reach the
+ * {@link InternalEventHandler}.
+ * 
+ * <p>
+ * When an event class is given a window, the first event about an entity is
+ * held for the window's duration. Events of the same class about the same
+ * entity that arrive during the window replace the held event, and only the
+ * newest one is dispatched when the window closes.
+ * </p>
+ * 
+ * <p>
+ * Note: Coalescing requires the event queue, see
+ * {@link InternalEventHandler#enableEventQueue(int, OverflowPolicy)}. Held
+ * events are added to the queue when their window closes, so they are
+ * dispatched by the same thread as every other event.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class EventCoalescer {
+
+	/**
+	 * Receives the events once their window closes.
+	 */
+	private final Consumer<GenericEvent> sink;
+
+	/**
+	 * The windows of the event classes.
+	 */
+	private final TypeHierarchyMap<Duration> windows;
+
+	/**
+	 * The held events, by their key.
+	 */
+	private final ConcurrentHashMap<EventKey, Pending> pending;
+
+	/**
+	 * The number of events of each class that have been replaced by a newer event.
+	 */
+	private final ConcurrentHashMap<Class<?>, LongAdder> coalesced;
+
+	/**
+	 * The scheduler that closes the windows, created when it is first needed.
+	 */
+	private volatile ScheduledExecutorService scheduler;
+
+	/**
+	 * If events can be held, which is once the event queue is enabled.
+	 */
+	private volatile boolean enabled;
+
+	/**
+	 * Construct a new event coalescer.
+	 * 
+	 * @param sink Receives the events once their window closes.
+	 */
+	EventCoalescer(Consumer<GenericEvent> sink) {
+		this.sink = sink;
+		this.windows = new TypeHierarchyMap<Duration>(null);
+		this.pending = new ConcurrentHashMap<EventKey, Pending>();
+		this.coalesced = new ConcurrentHashMap<Class<?>, LongAdder>();
+	}
+
+	/**
+	 * Get the window of an event class.
+	 * 
+	 * @param eventClass The event class.
+	 * @return The window set for the class or its closest superclass or interface,
+	 *         or null if events of the class are not coalesced.
+	 */
+	public Duration getWindow(Class<? extends GenericEvent> eventClass) {
+		return this.windows.get(eventClass);
+	}
+
+	/**
+	 * Set the window of an event class, and its subclasses.
+	 * 
+	 * @param eventClass The event class.
+	 * @param window     The window, or null to stop coalescing the events.
+	 * @throws IllegalStateException If the event queue is not enabled.
+	 */
+	public void setWindow(Class<? extends GenericEvent> eventClass, Duration window) {
+		if (!this.enabled)
+			throw new IllegalStateException("Events can only be coalesced once the event queue is enabled");
+
+		if (window != null && (window.isNegative() || window.isZero()))
+			throw new IllegalArgumentException("The window must be positive");
+
+		this.windows.put(eventClass, window);
+	}
+
+	/**
+	 * Get the number of events that are being held.
+	 * 
+	 * @return The number of held events.
+	 */
+	public int getPendingEvents() {
+		return this.pending.size();
+	}
+
+	/**
+	 * Get the number of events that have been replaced by a newer event, by their
+	 * class.
+	 * 
+	 * @return The number of coalesced events.
+	 */
+	public Map<Class<?>, Long> getCoalescedEvents() {
+		Map<Class<?>, Long> coalesced = new HashMap<Class<?>, Long>();
+
+		for (Map.Entry<Class<?>, LongAdder> entry : this.coalesced.entrySet())
+			coalesced.put(entry.getKey(), entry.getValue().sum());
+
+		return coalesced;
+	}
+
+	/**
+	 * Hold an event if its class has a window.
+	 * 
+	 * @param event The event.
+	 * @return If the event is being held, otherwise it should be dispatched
+	 *         immediately.
+	 */
+	boolean offer(GenericEvent event) {
+		if (!this.enabled)
+			return false;
+
+		Duration window = this.windows.get(event.getClass());
+
+		if (window == null)
+			return false;
+
+		EventKey key = new EventKey(event);
+
+		this.pending.compute(key, (k, pending) -> {
+			if (pending != null) {
+				this.coalesced.computeIfAbsent(pending.event.getClass(), type -> new LongAdder()).increment();
+				pending.event = event;
+				return pending;
+			}
+
+			this.getScheduler().schedule(() -> this.flush(k), window.toNanos(), TimeUnit.NANOSECONDS);
+			return new Pending(event);
+		});
+
+		return true;
+	}
+
+	/**
+	 * Allow events to be held, once the sink adds them to the event queue.
+	 */
+	void enable() {
+		this.enabled = true;
+	}
+
+	/**
+	 * Close a window, and dispatch the newest event it held.
+	 * 
+	 * @param key The key of the window.
+	 */
+	private void flush(EventKey key) {
+		Pending pending = this.pending.remove(key);
+
+		if (pending == null)
+			return;
+
+		try {
+			this.sink.accept(pending.event);
+		} catch (RuntimeException e) {
+			e.printStackTrace();
+		}
+	}
+
+	/**
+	 * Get the scheduler that closes the windows, creating it if needed.
+	 * 
+	 * @return The scheduler.
+	 */
+	private ScheduledExecutorService getScheduler() {
+		ScheduledExecutorService scheduler = this.scheduler;
+
+		if (scheduler != null)
+			return scheduler;
+
+		synchronized (this) {
+			if (this.scheduler == null) {
+				this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+					Thread thread = new Thread(runnable, "Event-Coalescer");
+					thread.setDaemon(true);
+					return thread;
+				});
+			}
+
+			return this.scheduler;
+		}
+	}
+
+	/**
+	 * An event held until its window closes.
+	 */
+	private static class Pending {
+
+		/**
+		 * The newest event.
+		 */
+		private GenericEvent event;
+
+		/**
+		 * Construct a new pending event.
+		 * 
+		 * @param event The event.
+		 */
+		private Pending(GenericEvent event) {
+			this.event = event;
+		}
+
+	}
+
+}
@@ -0,0 +1,62 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import com.radicaldevs.javadiscordapi.utils.EventUtils;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Identifies events of the same type about the same entity, so newer events
+ * can replace older ones.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class EventKey {
+
+	/**
+	 * The class of the event.
+	 */
+	private final Class<?> eventClass;
+
+	/**
+	 * The id of the guild the event occurred in, or 0.
+	 */
+	private final long guildId;
+
+	/**
+	 * The id of the entity the event is about, or 0.
+	 */
+	private final long entityId;
+
+	/**
+	 * Construct the key of an event.
+	 * 
+	 * @param event The event.
+	 */
+	EventKey(GenericEvent event) {
+		Guild guild = EventUtils.getGuild(event);
+
+		this.eventClass = event.getClass();
+		this.guildId = guild == null ? 0 : guild.getIdLong();
+		this.entityId = EventUtils.getEntityId(event);
+	}
+
+	@Override
+	public int hashCode() {
+		return 31 * (31 * this.eventClass.hashCode() + Long.hashCode(this.guildId)) + Long.hashCode(this.entityId);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (!(obj instanceof EventKey))
+			return false;
+
+		EventKey that = (EventKey) obj;
+
+		return this.eventClass == that.eventClass 
+			&& this.guildId == that.guildId 
+			&& this.entityId == that.entityId;
+	}
+
+}
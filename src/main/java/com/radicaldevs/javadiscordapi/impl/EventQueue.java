@@ -0,0 +1,356 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.util.ArrayDeque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nonnull;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * A bounded queue that stages events between JDA and the
+ * {@link InternalEventHandler}.
+ * 
+ * <p>
+ * Each event class can be given an {@link OverflowPolicy}, which decides what
+ * happens to events of that class (and its subclasses) when the queue is full.
+ * </p>
+ * 
+ * <p>
+ * Only events whose own policy is {@link OverflowPolicy#DROP_OLDEST} are ever
+ * evicted, so a flood of low value events can not evict the events of a class
+ * that must not be dropped, such as messages.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class EventQueue {
+
+	/**
+	 * The maximum number of events in the queue.
+	 */
+	private final int capacity;
+
+	/**
+	 * The policies of the event classes.
+	 */
+	private final TypeHierarchyMap<OverflowPolicy> policies;
+
+	/**
+	 * The number of events of each class that have been dropped.
+	 */
+	private final ConcurrentHashMap<Class<?>, LongAdder> dropped;
+
+	/**
+	 * The queued events, including those that have been evicted.
+	 */
+	private final ArrayDeque<Entry> entries;
+
+	/**
+	 * The queued events that can be evicted, in the same order.
+	 */
+	private final ArrayDeque<Entry> evictable;
+
+	/**
+	 * The number of queued events that have not been evicted.
+	 */
+	private int size;
+
+	/**
+	 * The queued events that can be coalesced, by their key.
+	 */
+	private final Map<EventKey, Entry> coalescing;
+
+	/**
+	 * The lock that guards the queue.
+	 */
+	private final ReentrantLock lock;
+
+	/**
+	 * Signalled when an event is added to the queue.
+	 */
+	private final Condition notEmpty;
+
+	/**
+	 * Signalled when an event is removed from the queue.
+	 */
+	private final Condition notFull;
+
+	/**
+	 * Construct a new event queue.
+	 * 
+	 * @param capacity      The maximum number of events in the queue.
+	 * @param defaultPolicy The policy of event classes that are not given one.
+	 */
+	EventQueue(int capacity, @Nonnull OverflowPolicy defaultPolicy) {
+		if (capacity < 1)
+			throw new IllegalArgumentException("The capacity must be positive");
+
+		this.capacity = capacity;
+		this.policies = new TypeHierarchyMap<OverflowPolicy>(defaultPolicy);
+		this.dropped = new ConcurrentHashMap<Class<?>, LongAdder>();
+		this.entries = new ArrayDeque<Entry>(capacity);
+		this.evictable = new ArrayDeque<Entry>();
+		this.coalescing = new HashMap<EventKey, Entry>();
+		this.lock = new ReentrantLock();
+		this.notEmpty = this.lock.newCondition();
+		this.notFull = this.lock.newCondition();
+	}
+
+	/**
+	 * Get the maximum number of events in the queue.
+	 * 
+	 * @return The capacity.
+	 */
+	public int getCapacity() {
+		return this.capacity;
+	}
+
+	/**
+	 * Get the number of events in the queue.
+	 * 
+	 * @return The queue depth.
+	 */
+	public int getDepth() {
+		this.lock.lock();
+
+		try {
+			return this.size;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Get the policy of an event class.
+	 * 
+	 * @param eventClass The event class.
+	 * @return The policy set for the class or its closest superclass or interface,
+	 *         otherwise the default policy.
+	 */
+	public OverflowPolicy getPolicy(Class<? extends GenericEvent> eventClass) {
+		return this.policies.get(eventClass);
+	}
+
+	/**
+	 * Set the policy of an event class, and its subclasses.
+	 * 
+	 * @param eventClass The event class.
+	 * @param policy     The policy, or null to remove it.
+	 */
+	public void setPolicy(Class<? extends GenericEvent> eventClass, OverflowPolicy policy) {
+		this.policies.put(eventClass, policy);
+	}
+
+	/**
+	 * Get the number of events of a class that have been dropped or coalesced.
+	 * 
+	 * @param eventClass The concrete event class.
+	 * @return The number of dropped events.
+	 */
+	public long getDroppedEvents(Class<? extends GenericEvent> eventClass) {
+		LongAdder count = this.dropped.get(eventClass);
+		return count == null ? 0 : count.sum();
+	}
+
+	/**
+	 * Get the number of events that have been dropped or coalesced, by their
+	 * class.
+	 * 
+	 * @return The number of dropped events.
+	 */
+	public Map<Class<?>, Long> getDroppedEvents() {
+		Map<Class<?>, Long> dropped = new HashMap<Class<?>, Long>();
+
+		for (Map.Entry<Class<?>, LongAdder> entry : this.dropped.entrySet())
+			dropped.put(entry.getKey(), entry.getValue().sum());
+
+		return dropped;
+	}
+
+	/**
+	 * Add an event to the queue, applying its overflow policy.
+	 * 
+	 * @param event The event.
+	 * @throws InterruptedException If the thread was interrupted while blocked.
+	 */
+	void offer(GenericEvent event) throws InterruptedException {
+		OverflowPolicy policy = this.getPolicy(event.getClass());
+		EventKey key = policy == OverflowPolicy.COALESCE ? new EventKey(event) : null;
+
+		this.lock.lockInterruptibly();
+
+		try {
+			if (key != null) {
+				Entry pending = this.coalescing.get(key);
+
+				if (pending != null) {
+					this.drop(pending.event);
+					pending.event = event;
+					return;
+				}
+			}
+
+			if (this.size >= this.capacity) {
+				switch (policy) {
+				case BLOCK:
+					while (this.size >= this.capacity)
+						this.notFull.await();
+					break;
+				case DROP_OLDEST:
+					// If no queued event can be evicted, this event is the one to drop.
+					if (this.evictable.isEmpty()) {
+						this.drop(event);
+						return;
+					}
+
+					this.evict(this.evictable.poll());
+					break;
+				case DROP_NEWEST:
+				case COALESCE:
+					this.drop(event);
+					return;
+				}
+			}
+
+			Entry entry = new Entry(event, key, policy == OverflowPolicy.DROP_OLDEST);
+
+			if (key != null)
+				this.coalescing.put(key, entry);
+
+			if (entry.evictable)
+				this.evictable.add(entry);
+
+			this.entries.add(entry);
+			this.size++;
+			this.notEmpty.signal();
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the oldest event from the queue, waiting for one if it is empty.
+	 * 
+	 * @return The event.
+	 * @throws InterruptedException If the thread was interrupted while waiting.
+	 */
+	GenericEvent take() throws InterruptedException {
+		this.lock.lockInterruptibly();
+
+		try {
+			while (this.size == 0)
+				this.notEmpty.await();
+
+			GenericEvent event = this.remove().event;
+			this.notFull.signal();
+			return event;
+		} finally {
+			this.lock.unlock();
+		}
+	}
+
+	/**
+	 * Remove the oldest entry that has not been evicted from the queue, the lock
+	 * must be held.
+	 * 
+	 * @return The entry.
+	 */
+	private Entry remove() {
+		Entry entry = this.entries.poll();
+
+		while (entry.evicted)
+			entry = this.entries.poll();
+
+		// The oldest entry that can be evicted is this one, if it can be evicted.
+		if (entry.evictable)
+			this.evictable.poll();
+
+		if (entry.key != null)
+			this.coalescing.remove(entry.key);
+
+		this.size--;
+		return entry;
+	}
+
+	/**
+	 * Evict an entry from the queue, the lock must be held.
+	 * 
+	 * <p>
+	 * The entry is left in the queue, and is skipped when it is reached. The
+	 * evicted entries are removed once there are as many of them as the capacity,
+	 * so they do not accumulate while the queue is not being drained.
+	 * </p>
+	 * 
+	 * @param entry The entry.
+	 */
+	private void evict(Entry entry) {
+		entry.evicted = true;
+
+		if (entry.key != null)
+			this.coalescing.remove(entry.key);
+
+		this.size--;
+		this.drop(entry.event);
+
+		if (this.entries.size() - this.size >= this.capacity)
+			this.entries.removeIf(queued -> queued.evicted);
+	}
+
+	/**
+	 * Count a dropped event.
+	 * 
+	 * @param event The event.
+	 */
+	private void drop(GenericEvent event) {
+		this.dropped.computeIfAbsent(event.getClass(), type -> new LongAdder()).increment();
+	}
+
+	/**
+	 * A queued event.
+	 */
+	private static class Entry {
+
+		/**
+		 * The event, which may be replaced if it is coalesced.
+		 */
+		private GenericEvent event;
+
+		/**
+		 * The event's key, if it can be coalesced.
+		 */
+		private final EventKey key;
+
+		/**
+		 * If the event can be evicted to make space for another event.
+		 */
+		private final boolean evictable;
+
+		/**
+		 * If the event has been evicted.
+		 */
+		private boolean evicted;
+
+		/**
+		 * Construct a new entry.
+		 * 
+		 * @param event     The event.
+		 * @param key       The event's key, if it can be coalesced.
+		 * @param evictable If the event can be evicted to make space for another
+		 *                  event.
+		 */
+		private Entry(GenericEvent event, EventKey key, boolean evictable) {
+			this.event = event;
+			this.key = key;
+			this.evictable = evictable;
+		}
+
+	}
+
+}
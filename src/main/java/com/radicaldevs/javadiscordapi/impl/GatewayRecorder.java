@@ -0,0 +1,190 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+import net.dv8tion.jda.api.events.RawGatewayEvent;
+
+/**
+ * Records the payloads received from discord's gateway to an append-only log,
+ * which can be replayed with a {@link GatewayReplay}.
+ * 
+ * <p>
+ * A log starts with a header, followed by one entry per payload: the time since
+ * the previous payload in microseconds, the payload's type, and the payload's
+ * JSON. The times and lengths are written as variable length integers, so most
+ * entries only add a few bytes to the payload.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class GatewayRecorder implements Closeable {
+
+	/**
+	 * The value every log starts with.
+	 */
+	static final int MAGIC = 0x4A444152;
+
+	/**
+	 * The version of the log format.
+	 */
+	static final int VERSION = 1;
+
+	/**
+	 * The file the payloads are being recorded to.
+	 */
+	private final Path file;
+
+	/**
+	 * The stream the payloads are written to, or null if the recorder is closed.
+	 */
+	private DataOutputStream output;
+
+	/**
+	 * The time the last payload was recorded, or zero if no payloads have been
+	 * recorded.
+	 */
+	private long lastRecorded;
+
+	/**
+	 * The number of payloads that have been recorded.
+	 */
+	private long recorded;
+
+	/**
+	 * Construct a new gateway recorder.
+	 * 
+	 * <p>
+	 * If the file already exists, payloads are appended to it.
+	 * </p>
+	 * 
+	 * @param file The file to record the payloads to.
+	 * @throws IOException If the file could not be opened.
+	 */
+	public GatewayRecorder(@Nonnull Path file) throws IOException {
+		boolean exists = Files.exists(file) && Files.size(file) > 0;
+
+		this.file = file;
+		this.output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(file, StandardOpenOption.CREATE, StandardOpenOption.APPEND)));
+
+		if (!exists) {
+			this.output.writeInt(MAGIC);
+			this.output.writeByte(VERSION);
+		}
+	}
+
+	/**
+	 * Get the file the payloads are being recorded to.
+	 * 
+	 * @return The file.
+	 */
+	public Path getFile() {
+		return this.file;
+	}
+
+	/**
+	 * Get the number of payloads that have been recorded.
+	 * 
+	 * @return The number of recorded payloads.
+	 */
+	public synchronized long getRecorded() {
+		return this.recorded;
+	}
+
+	/**
+	 * Check if the recorder is closed.
+	 * 
+	 * @return If the recorder is closed.
+	 */
+	public synchronized boolean isClosed() {
+		return this.output == null;
+	}
+
+	/**
+	 * Record a payload.
+	 * 
+	 * <p>
+	 * If the payload could not be written, an error is logged and the recorder is
+	 * closed.
+	 * </p>
+	 * 
+	 * @param event The event carrying the payload.
+	 */
+	public synchronized void record(@Nonnull RawGatewayEvent event) {
+		if (this.output == null)
+			return;
+
+		long now = System.nanoTime();
+		long delay = this.lastRecorded == 0 ? 0 : TimeUnit.NANOSECONDS.toMicros(now - this.lastRecorded);
+		byte[] payload = event.getPackage().toJson();
+
+		try {
+			writeVarLong(this.output, delay);
+			this.output.writeUTF(event.getType());
+			writeVarLong(this.output, payload.length);
+			this.output.write(payload);
+		} catch (IOException e) {
+			Utils.error("Could not record a gateway payload to " + this.file + ", recording has been stopped: " + e.getMessage());
+			this.close();
+			return;
+		}
+
+		this.lastRecorded = now;
+		this.recorded++;
+	}
+
+	/**
+	 * Write any buffered payloads to the file.
+	 * 
+	 * @throws IOException If the payloads could not be written.
+	 */
+	public synchronized void flush() throws IOException {
+		if (this.output != null)
+			this.output.flush();
+	}
+
+	/**
+	 * Write any buffered payloads to the file, and close it.
+	 */
+	@Override
+	public synchronized void close() {
+		if (this.output == null)
+			return;
+
+		try {
+			this.output.close();
+		} catch (IOException e) {
+			Utils.error("Could not close " + this.file + ": " + e.getMessage());
+		}
+
+		this.output = null;
+	}
+
+	/**
+	 * Write a non-negative variable length integer, seven bits at a time.
+	 * 
+	 * @param output The stream to write to.
+	 * @param value  The value.
+	 * @throws IOException If the value could not be written.
+	 */
+	private static void writeVarLong(DataOutputStream output, long value) throws IOException {
+		while ((value & ~0x7FL) != 0) {
+			output.writeByte((int) (value & 0x7F) | 0x80);
+			value >>>= 7;
+		}
+
+		output.writeByte((int) value);
+	}
+
+}
@@ -0,0 +1,353 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import javax.annotation.Nonnull;
+
+import com.radicaldevs.javadiscordapi.utils.Utils;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.RawGatewayEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+import net.dv8tion.jda.api.utils.data.DataObject;
+import net.dv8tion.jda.internal.JDAImpl;
+import net.dv8tion.jda.internal.requests.WebSocketClient;
+
+/**
+ * Replays a log written by a {@link GatewayRecorder}.
+ * 
+ * <p>
+ * The whole log is loaded into memory, so reading it does not affect the time
+ * it takes to replay it. Payloads can be replayed at the speed they were
+ * recorded at, at a multiple of it, or as fast as possible.
+ * </p>
+ * 
+ * <p>
+ * Payloads are only turned into typed events, such as
+ * {@link net.dv8tion.jda.api.events.message.MessageReceivedEvent}s, by the
+ * {@link #toJDA(JDA)} target. The {@link #toListener(JDA, EventListener)}
+ * target passes them on as {@link RawGatewayEvent}s.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class GatewayReplay {
+
+	/**
+	 * Receives the payloads of a replay.
+	 * 
+	 * @author Myles Deslippe
+	 * @since 0.0.7
+	 */
+	@FunctionalInterface
+	public interface Target {
+
+		/**
+		 * Handle a payload.
+		 * 
+		 * @param type    The payload's type, such as {@code MESSAGE_CREATE}.
+		 * @param payload The payload, as it was received from the gateway.
+		 */
+		void handle(String type, DataObject payload);
+
+	}
+
+	/**
+	 * A recorded payload.
+	 */
+	private static final class Entry {
+
+		/**
+		 * The time between the previous payload and this one, in nanoseconds.
+		 */
+		private final long delay;
+
+		/**
+		 * The payload's type.
+		 */
+		private final String type;
+
+		/**
+		 * The payload's JSON.
+		 */
+		private final byte[] payload;
+
+		/**
+		 * Construct a new entry.
+		 * 
+		 * @param delay   The time between the previous payload and this one, in
+		 *                nanoseconds.
+		 * @param type    The payload's type.
+		 * @param payload The payload's JSON.
+		 */
+		private Entry(long delay, String type, byte[] payload) {
+			this.delay = delay;
+			this.type = type;
+			this.payload = payload;
+		}
+
+	}
+
+	/**
+	 * A raw gateway event that is being replayed, rather than received from
+	 * discord.
+	 */
+	static final class ReplayedEvent extends RawGatewayEvent {
+
+		/**
+		 * Construct a new replayed event.
+		 * 
+		 * @param api     The api instance the event is from.
+		 * @param payload The payload, as it was received from the gateway.
+		 */
+		private ReplayedEvent(JDA api, DataObject payload) {
+			super(api, payload.getLong("s", 0), payload);
+		}
+
+	}
+
+	/**
+	 * If the current thread is passing a payload to an api's gateway handlers.
+	 */
+	private static final ThreadLocal<Boolean> REPLAYING = ThreadLocal.withInitial(() -> false);
+
+	/**
+	 * The recorded payloads, in the order they were received.
+	 */
+	private final List<Entry> entries;
+
+	/**
+	 * Construct a new gateway replay.
+	 * 
+	 * @param entries The recorded payloads.
+	 */
+	private GatewayReplay(List<Entry> entries) {
+		this.entries = entries;
+	}
+
+	/**
+	 * Load a log written by a {@link GatewayRecorder}.
+	 * 
+	 * <p>
+	 * If the log ends with a partially written payload, such as when the bot was
+	 * stopped without closing its recorder, the partial payload is ignored.
+	 * </p>
+	 * 
+	 * @param file The log.
+	 * @return The replay.
+	 * @throws IOException If the log could not be read, or is not a gateway log.
+	 */
+	public static GatewayReplay load(@Nonnull Path file) throws IOException {
+		List<Entry> entries = new ArrayList<Entry>();
+
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (input.readInt() != GatewayRecorder.MAGIC)
+				throw new IOException(file + " is not a gateway log");
+
+			int version = input.readUnsignedByte();
+
+			if (version != GatewayRecorder.VERSION)
+				throw new IOException(file + " uses an unsupported version (" + version + ")");
+
+			while (true) {
+				int first = input.read();
+
+				if (first == -1)
+					break;
+
+				try {
+					long delay = TimeUnit.MICROSECONDS.toNanos(readVarLong(input, first));
+					String type = input.readUTF();
+					byte[] payload = new byte[(int) readVarLong(input, input.readUnsignedByte())];
+
+					input.readFully(payload);
+					entries.add(new Entry(delay, type, payload));
+				} catch (EOFException e) {
+					Utils.warn(file + " ends with a partial payload, it will not be replayed.");
+					break;
+				}
+			}
+		}
+
+		return new GatewayReplay(Collections.unmodifiableList(entries));
+	}
+
+	/**
+	 * Create a target that passes payloads to an event listener, as the
+	 * {@link RawGatewayEvent}s they were recorded from.
+	 * 
+	 * <p>
+	 * The payloads are not turned into typed events, so they only reach handlers
+	 * of {@link RawGatewayEvent}s, and never reach commands. In exchange, the
+	 * api's caches are never modified and a log can be replayed against a running
+	 * bot. The api is only used as the {@link RawGatewayEvent#getJDA() source} of
+	 * the events. Replayed events are not recorded again by the listener's
+	 * {@link GatewayRecorder}. Use {@link #toJDA(JDA)} to replay payloads as
+	 * typed events.
+	 * </p>
+	 * 
+	 * @param api      The api instance the events are from.
+	 * @param listener The event listener.
+	 * @return The target.
+	 */
+	public static Target toListener(@Nonnull JDA api, @Nonnull EventListener listener) {
+		return (type, payload) -> listener.onEvent(new ReplayedEvent(api, payload));
+	}
+
+	/**
+	 * Create a target that passes payloads to an api's gateway handlers, as if
+	 * they had been received from discord.
+	 * 
+	 * <p>
+	 * The api turns each payload into the typed events it would have fired for
+	 * it, such as {@link net.dv8tion.jda.api.events.message.MessageReceivedEvent}s,
+	 * and dispatches them to its listeners, including the bot's
+	 * {@link InternalEventHandler} and its command listener. This is the target to
+	 * use to benchmark event dispatch and command handling.
+	 * </p>
+	 * 
+	 * <p>
+	 * The payloads update the api's caches the same way live payloads do, so a
+	 * log should be replayed against a dedicated bot that is logged in to the
+	 * guilds it was recorded in, not one that is serving users. Payloads for
+	 * guilds the api does not know about are ignored by it. JDA has no public
+	 * way to do this, so this target relies on its internal gateway client.
+	 * Payloads are not recorded again by the bot's {@link GatewayRecorder}, as
+	 * long as the api dispatches events on the replaying thread, which is the
+	 * default.
+	 * </p>
+	 * 
+	 * @param api The api instance, which must be logged in.
+	 * @return The target.
+	 * @throws IllegalArgumentException If the api is not a JDA instance that
+	 *                                  connects to the gateway.
+	 * @throws IllegalStateException    If the api is not logged in.
+	 */
+	public static Target toJDA(@Nonnull JDA api) {
+		if (!(api instanceof JDAImpl))
+			throw new IllegalArgumentException("The api does not connect to the gateway");
+
+		WebSocketClient client = ((JDAImpl) api).getClient();
+
+		if (client == null)
+			throw new IllegalStateException("The api is not logged in");
+
+		return (type, payload) -> {
+			REPLAYING.set(true);
+
+			try {
+				client.handle(Collections.singletonList(payload));
+			} finally {
+				REPLAYING.set(false);
+			}
+		};
+	}
+
+	/**
+	 * Check if the current thread is passing a payload to an api's gateway
+	 * handlers, in which case the events it fires are being replayed.
+	 * 
+	 * @return If a payload is being replayed on the current thread.
+	 */
+	static boolean isReplaying() {
+		return REPLAYING.get();
+	}
+
+	/**
+	 * Get the number of recorded payloads.
+	 * 
+	 * @return The number of payloads.
+	 */
+	public int size() {
+		return this.entries.size();
+	}
+
+	/**
+	 * Get the time between the first and last payload when they were recorded.
+	 * 
+	 * @return The recorded duration, in nanoseconds.
+	 */
+	public long getDuration() {
+		long duration = 0;
+
+		for (Entry entry : this.entries)
+			duration += entry.delay;
+
+		return duration;
+	}
+
+	/**
+	 * Replay the payloads to a target.
+	 * 
+	 * <p>
+	 * A speed of 1 replays the payloads at the speed they were recorded at, a
+	 * speed of 2 replays them twice as fast, and a speed of 0 or less replays
+	 * them as fast as possible. Exceptions thrown by the target are logged, and do
+	 * not stop the replay.
+	 * </p>
+	 * 
+	 * @param target The target.
+	 * @param speed  The speed to replay the payloads at.
+	 * @return The time it took to replay the payloads, in nanoseconds.
+	 * @throws InterruptedException If the thread was interrupted while waiting
+	 *                              for the next payload.
+	 */
+	public long replay(@Nonnull Target target, double speed) throws InterruptedException {
+		long start = System.nanoTime();
+		long scheduled = 0;
+
+		for (Entry entry : this.entries) {
+			if (speed > 0) {
+				scheduled += (long) (entry.delay / speed);
+
+				long remaining = start + scheduled - System.nanoTime();
+
+				if (remaining > 0)
+					TimeUnit.NANOSECONDS.sleep(remaining);
+			}
+
+			try {
+				target.handle(entry.type, DataObject.fromJson(entry.payload));
+			} catch (RuntimeException e) {
+				Utils.error("Could not replay a " + entry.type + " payload: " + e);
+			}
+		}
+
+		return System.nanoTime() - start;
+	}
+
+	/**
+	 * Read a variable length integer written by a {@link GatewayRecorder}.
+	 * 
+	 * @param input The stream to read from.
+	 * @param first The first byte of the integer.
+	 * @return The value.
+	 * @throws IOException If the value could not be read.
+	 */
+	private static long readVarLong(DataInputStream input, int first) throws IOException {
+		long value = first & 0x7F;
+		int shift = 7;
+
+		while ((first & 0x80) != 0) {
+			if (shift > 63)
+				throw new IOException("Malformed variable length integer");
+
+			first = input.readUnsignedByte();
+			value |= (long) (first & 0x7F) << shift;
+			shift += 7;
+		}
+
+		return value;
+	}
+
+}
@@ -1,10 +1,11 @@
 package com.radicaldevs.javadiscordapi.impl;
 
-import java.util.Arrays;
-import java.util.List;
-
+import com.radicaldevs.javadiscordapi.command.Arguments;
 import com.radicaldevs.javadiscordapi.command.Command;
 import com.radicaldevs.javadiscordapi.command.CommandManager;
+import com.radicaldevs.javadiscordapi.command.GuildPrefixes;
+import com.radicaldevs.javadiscordapi.command.PrefixList;
+import com.radicaldevs.javadiscordapi.command.PrefixMatcher;
 import com.radicaldevs.javadiscordapi.event.EventHandler;
 import com.radicaldevs.javadiscordapi.event.Listener;
 
@@ -23,7 +24,13 @@ public class InternalCommandListener implements Listener {
 	/**
 	 * Prefixes that trigger the internal command listener.
 	 */
-	private List<String> prefixes;
+	private PrefixList prefixes;
+
+	/**
+	 * Prefixes of individual guilds, which override the prefixes, or null if
+	 * every guild uses the prefixes.
+	 */
+	private volatile GuildPrefixes guildPrefixes;
 
 	/**
 	 * A command manager containing commands that the internal command listener will
@@ -37,60 +44,74 @@ public class InternalCommandListener implements Listener {
 	 * @param prefixes Prefixes that trigger the command listener.
 	 * @param The      command manager whose commands will be listened for.
 	 */
-	public InternalCommandListener(List<String> prefixes, CommandManager commandManager) {
+	public InternalCommandListener(PrefixList prefixes, CommandManager commandManager) {
 		this.prefixes = prefixes;
 		this.commandManager = commandManager;
 	}
 
+	/**
+	 * Get the prefixes of individual guilds, which override the prefixes.
+	 * 
+	 * @return The guild prefixes, or null if every guild uses the prefixes.
+	 */
+	public GuildPrefixes getGuildPrefixes() {
+		return this.guildPrefixes;
+	}
+
+	/**
+	 * Set the prefixes of individual guilds, which override the prefixes.
+	 * 
+	 * @param guildPrefixes The guild prefixes, or null if every guild should use
+	 *                      the prefixes.
+	 */
+	public void setGuildPrefixes(GuildPrefixes guildPrefixes) {
+		this.guildPrefixes = guildPrefixes;
+	}
+
 	/**
 	 * The event handler that trigger command listeners.
+	 * 
+	 * <p>
+	 * Asynchronous commands are handed to the command manager's executor, so
+	 * they do not delay the events behind them, and permission checks go through
+	 * its permission cache.
+	 * </p>
 	 */
-	@EventHandler(priority = EventPriority.HIGHEST)
+	@EventHandler(priority = EventPriority.HIGHEST, circuitBreaker = false)
 	public void onChat(MessageReceivedEvent event) {
 		// Ensure the message was a command.
-		boolean isCmd = false;
 		String message = event.getMessage().getContentRaw();
+		PrefixMatcher matcher = this.prefixes.getMatcher();
+		GuildPrefixes guildPrefixes = this.guildPrefixes;
 
-		for (String prefix : this.prefixes) {
-			if (message.startsWith(prefix.toLowerCase())) {
-				message = message.substring(prefix.length());
-				isCmd = true;
-				break;
-			}
+		if (guildPrefixes != null && event.isFromGuild()) {
+			PrefixMatcher guildMatcher = guildPrefixes.getMatcher(event.getGuild().getIdLong());
+
+			if (guildMatcher != null)
+				matcher = guildMatcher;
 		}
 
-		String[] messageSplit = message.split(" ");
+		int offset = matcher.match(message);
+
+		// The command's name must follow the prefix immediately.
+		if (offset == -1 || offset == message.length() || Character.isWhitespace(message.charAt(offset)))
+			return;
+
+		Arguments args = Arguments.tokenize(message, offset);
 
-		if (!isCmd)
+		if (args.isEmpty())
 			return;
 
-		// Loop through all the registered commands, if they match execute them.
-		for (Command command : this.commandManager.getCommands()) {
-			// Check if the command name matches.
-			if (command.getName().equals(messageSplit[0])) {
-				command.internalCommandHandler(
-					event.getGuild(), 
-					event.getMember(), 
-					event.getChannel(),
-					event.getMessage(), 
-					Arrays.copyOfRange(messageSplit, 1, messageSplit.length)
-				);
-				continue;
-			}
-
-			// Check if one of the command's aliases match.
-			for (String alias : command.getAliases()) {
-				if (alias.equals(messageSplit[0])) {
-					command.internalCommandHandler(
-						event.getGuild(), 
-						event.getMember(), 
-						event.getChannel(),
-						event.getMessage(), 
-						Arrays.copyOfRange(messageSplit, 1, messageSplit.length)
-					);
-					break;
-				}
-			}
+		// Execute the commands whose name or one of whose aliases match.
+		for (Command command : this.commandManager.getCommands(args.get(0))) {
+			command.execute(
+				event.getGuild(), 
+				event.getMember(), 
+				event.getChannel(),
+				event.getMessage(), 
+				args.shift(),
+				this.commandManager
+			);
 		}
 	}
 
@@ -1,15 +1,19 @@
 package com.radicaldevs.javadiscordapi.impl;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.util.HashMap;
-import java.util.Map.Entry;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
 
+import com.radicaldevs.javadiscordapi.command.CommandManager;
+import com.radicaldevs.javadiscordapi.event.EventContext;
 import com.radicaldevs.javadiscordapi.event.EventHandler;
-import com.radicaldevs.javadiscordapi.event.Listener;
+import com.radicaldevs.javadiscordapi.event.EventPriority;
 import com.radicaldevs.javadiscordapi.event.ListenerManager;
+import com.radicaldevs.javadiscordapi.event.RegisteredHandler;
+import com.radicaldevs.javadiscordapi.utils.EventUtils;
+import com.radicaldevs.javadiscordapi.utils.Utils;
 
 import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.RawGatewayEvent;
 import net.dv8tion.jda.api.hooks.EventListener;
 
 /**
@@ -25,6 +29,34 @@ public class InternalEventHandler implements EventListener {
 	 */
 	private ListenerManager listenerManager;
 
+	/**
+	 * The executor that runs asynchronous handlers in order.
+	 */
+	private OrderedExecutor asyncExecutor;
+
+	/**
+	 * The queue that stages events before they are dispatched, or null if events
+	 * are dispatched on JDA's thread.
+	 */
+	private volatile EventQueue eventQueue;
+
+	/**
+	 * The coalescer that events pass through before they are queued.
+	 */
+	private EventCoalescer eventCoalescer;
+
+	/**
+	 * The recorder gateway payloads are recorded with, or null if they are not
+	 * being recorded.
+	 */
+	private volatile GatewayRecorder recorder;
+
+	/**
+	 * The listener that invalidates cached permissions, or null if they are not
+	 * invalidated.
+	 */
+	private InternalPermissionListener permissionListener;
+
 	/**
 	 * Construct a new internal event handler.
 	 * 
@@ -32,73 +64,258 @@ public class InternalEventHandler implements EventListener {
 	 *                        that will be proxied by the internal event handler.
 	 */
 	public InternalEventHandler(ListenerManager listenerManager) {
+		this(listenerManager, null);
+	}
+
+	/**
+	 * Construct a new internal event handler, which invalidates a command
+	 * manager's cached permissions.
+	 * 
+	 * @param listenerManager A listener manager containing listeners for events
+	 *                        that will be proxied by the internal event handler.
+	 * @param commandManager  The command manager whose permission cache will be
+	 *                        invalidated, or null if it should not be.
+	 */
+	public InternalEventHandler(ListenerManager listenerManager, CommandManager commandManager) {
 		this.listenerManager = listenerManager;
+		this.asyncExecutor = new OrderedExecutor(listenerManager::getAsyncExecutor);
+		this.eventCoalescer = new EventCoalescer(this::enqueue);
+		this.permissionListener = commandManager == null ? null : new InternalPermissionListener(commandManager);
+	}
+
+	/**
+	 * Get the coalescer that events pass through before they are queued.
+	 * 
+	 * <p>
+	 * No events are coalesced until a window is set for their class, see
+	 * {@link EventCoalescer#setWindow(Class, java.time.Duration)}, which requires
+	 * the event queue to be enabled.
+	 * </p>
+	 * 
+	 * @return The event coalescer.
+	 */
+	public EventCoalescer getEventCoalescer() {
+		return this.eventCoalescer;
+	}
+
+	/**
+	 * Get the queue that stages events before they are dispatched.
+	 * 
+	 * @return The event queue, or null if it is not enabled.
+	 */
+	public EventQueue getEventQueue() {
+		return this.eventQueue;
+	}
+
+	/**
+	 * Stage events in a bounded queue, which is drained by a dedicated dispatch
+	 * thread, instead of dispatching them on JDA's thread.
+	 * 
+	 * <p>
+	 * When the queue is full, events are handled according to the overflow policy
+	 * of their class, see {@link EventQueue#setPolicy(Class, OverflowPolicy)}.
+	 * </p>
+	 * 
+	 * @param capacity      The maximum number of queued events.
+	 * @param defaultPolicy The policy of event classes that are not given one.
+	 * @return The event queue.
+	 * @throws IllegalStateException If the event queue is already enabled.
+	 */
+	public synchronized EventQueue enableEventQueue(int capacity, OverflowPolicy defaultPolicy) {
+		if (this.eventQueue != null)
+			throw new IllegalStateException("The event queue is already enabled");
+
+		EventQueue queue = new EventQueue(capacity, defaultPolicy);
+		Thread thread = new Thread(() -> {
+			while (true) {
+				GenericEvent event;
+
+				try {
+					event = queue.take();
+				} catch (InterruptedException e) {
+					return;
+				}
+
+				// Keep dispatching, as this is the only thread that drains the queue.
+				try {
+					this.dispatch(event);
+				} catch (Throwable e) {
+					Utils.error("An exception was thrown while dispatching " + event.getClass().getSimpleName() + ":");
+					e.printStackTrace();
+				}
+			}
+		}, "Event-Dispatcher");
+
+		thread.setDaemon(true);
+		thread.start();
+
+		this.eventQueue = queue;
+		this.eventCoalescer.enable();
+		return queue;
+	}
+
+	/**
+	 * Get the recorder gateway payloads are recorded with.
+	 * 
+	 * @return The recorder, or null if payloads are not being recorded.
+	 */
+	public GatewayRecorder getRecorder() {
+		return this.recorder;
+	}
+
+	/**
+	 * Set the recorder gateway payloads are recorded with.
+	 * 
+	 * <p>
+	 * Note: Payloads are only received if raw events are enabled, which the
+	 * {@link com.radicaldevs.javadiscordapi.Bot Bot} only does if a recorder is
+	 * set before it is started.
+	 * </p>
+	 * 
+	 * @param recorder The recorder, or null to stop recording payloads.
+	 */
+	public void setRecorder(GatewayRecorder recorder) {
+		this.recorder = recorder;
 	}
 
 	@Override
 	public void onEvent(GenericEvent event) {
-		Class<?> genericClass = event.getClass();
-
-		// Seperate the handlers based on their priority.
-		HashMap<Method, Listener> highestPriority = new HashMap<Method, Listener>();
-		HashMap<Method, Listener> highPriority = new HashMap<Method, Listener>();
-		HashMap<Method, Listener> normalPriority = new HashMap<Method, Listener>();
-		HashMap<Method, Listener> lowPriority = new HashMap<Method, Listener>();
-		HashMap<Method, Listener> lowestPriority = new HashMap<Method, Listener>();
-
-		for (Listener listener : this.listenerManager.getListeners()) {
-			for (Method method : listener.getClass().getMethods()) {
-				if (method.getParameterCount() == 0)
+		GatewayRecorder recorder = this.recorder;
+
+		if (recorder != null && event instanceof RawGatewayEvent && !(event instanceof GatewayReplay.ReplayedEvent) && !GatewayReplay.isReplaying())
+			recorder.record((RawGatewayEvent) event);
+
+		// Invalidate permissions before the event can be dropped, merged, or delayed.
+		if (this.permissionListener != null)
+			this.permissionListener.onEvent(event);
+
+		if (!this.eventCoalescer.offer(event))
+			this.enqueue(event);
+	}
+
+	/**
+	 * Add an event to the event queue, or dispatch it if the queue is not enabled.
+	 * 
+	 * @param event The event.
+	 */
+	private void enqueue(GenericEvent event) {
+		EventQueue queue = this.eventQueue;
+
+		if (queue == null) {
+			this.dispatch(event);
+			return;
+		}
+
+		try {
+			queue.offer(event);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	/**
+	 * Dispatch an event to its handlers.
+	 * 
+	 * @param event The event.
+	 */
+	void dispatch(GenericEvent event) {
+		// The handlers are already sorted by their priority.
+		RegisteredHandler[] handlers = this.listenerManager.getHandlers(event.getClass());
+
+		if (handlers.length == 0) {
+			this.listenerManager.publish(event);
+			return;
+		}
+
+		EventContext context = new EventContext(event);
+		int start = 0;
+
+		while (start < handlers.length) {
+			EventPriority priority = handlers[start].getPriority();
+			int end = start;
+			int parallel = 0;
+
+			// Run the handlers of the priority, leaving the parallel handlers for last.
+			for (; end < handlers.length && handlers[end].getPriority() == priority; end++) {
+				RegisteredHandler handler = handlers[end];
+
+				if (handler.isParallel())
+					parallel++;
+				else if (!handler.accepts(context))
 					continue;
+				else if (handler.isAsync())
+					this.asyncExecutor.execute(EventUtils.getOrderingKey(event), () -> this.run(context, handler));
+				else
+					this.run(context, handler);
+			}
 
-				if (method.getDeclaredAnnotation(EventHandler.class) != null && genericClass.toString().equals(method.getParameters()[0].getParameterizedType().toString())) {
-					switch (method.getDeclaredAnnotation(EventHandler.class).priority()) {
-					case HIGHEST:
-						highestPriority.put(method, listener);
-						break;
-					case HIGH:
-						highPriority.put(method, listener);
-						break;
-					case NORMAL:
-						normalPriority.put(method, listener);
-						break;
-					case LOW:
-						lowPriority.put(method, listener);
-						break;
-					case LOWEST:
-						lowestPriority.put(method, listener);
-						break;
-					}
-				}
+			if (parallel > 0)
+				this.runParallel(context, handlers, start, end, parallel);
+
+			start = end;
+		}
+
+		if (!context.isCancelled())
+			this.listenerManager.publish(event);
+	}
+
+	/**
+	 * Run the parallel handlers in a range of handlers, and wait for them to
+	 * complete.
+	 * 
+	 * @param context  The context of the event.
+	 * @param handlers The handlers.
+	 * @param start    The start of the range, inclusive.
+	 * @param end      The end of the range, exclusive.
+	 * @param count    The number of parallel handlers in the range.
+	 */
+	private void runParallel(EventContext context, RegisteredHandler[] handlers, int start, int end, int count) {
+		ForkJoinPool pool = this.listenerManager.getParallelPool();
+		ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[count - 1];
+		RegisteredHandler last = null;
+		int forked = 0;
+
+		// Submit all but one of the handlers, and run the last one on this thread.
+		for (int i = start; i < end; i++) {
+			RegisteredHandler handler = handlers[i];
+
+			if (!handler.isParallel() || !handler.accepts(context))
+				continue;
+
+			if (last != null) {
+				RegisteredHandler previous = last;
+				tasks[forked++] = pool.submit(() -> this.run(context, previous));
 			}
+
+			last = handler;
 		}
 
-		// Run the event listeners.
-		this.run(event, highestPriority);
-		this.run(event, highPriority);
-		this.run(event, normalPriority);
-		this.run(event, lowPriority);
-		this.run(event, lowestPriority);
+		if (last != null)
+			this.run(context, last);
+
+		for (int i = 0; i < forked; i++)
+			tasks[i].join();
 	}
 
 	/**
 	 * Run a {@link EventHandler}.
 	 * 
-	 * @param method       The event handler method.
-	 * @param genericClass The class type of the event.
-	 * @param event        The event.
+	 * <p>
+	 * Exceptions and errors thrown by the handler do not stop the event from
+	 * reaching the other handlers, unless the virtual machine is failing, such as
+	 * when it has run out of memory.
+	 * </p>
+	 * 
+	 * @param context The context of the event.
+	 * @param handler The event handler.
 	 */
-	private void run(GenericEvent event, HashMap<Method, Listener> map) {
-		for (Entry<Method, Listener> entry : map.entrySet()) {
-			Runnable runnable = () -> {
-				try {
-					entry.getKey().invoke(entry.getValue(), event);
-				} catch (IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-					e.printStackTrace();
-				}
-			};
-
-			runnable.run();
+	private void run(EventContext context, RegisteredHandler handler) {
+		try {
+			handler.callEvent(context);
+		} catch (VirtualMachineError e) {
+			throw e;
+		} catch (Throwable e) {
+			// The handler has already logged the exception.
 		}
 	}
 
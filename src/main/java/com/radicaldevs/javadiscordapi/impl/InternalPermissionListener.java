@@ -0,0 +1,66 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import com.radicaldevs.javadiscordapi.command.CommandManager;
+import com.radicaldevs.javadiscordapi.command.PermissionCache;
+
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.guild.override.GenericPermissionOverrideEvent;
+import net.dv8tion.jda.api.events.guild.update.GuildUpdateOwnerEvent;
+import net.dv8tion.jda.api.events.role.GenericRoleEvent;
+import net.dv8tion.jda.api.hooks.EventListener;
+
+/**
+ * The api's internal permission listener, which invalidates the command
+ * manager's permission cache when the permissions of members may have changed.
+ * 
+ * <p>
+ * The listener is called by the {@link InternalEventHandler} on JDA's thread,
+ * before events are coalesced, queued, or passed to any handlers, so an
+ * invalidation is never dropped, merged, or skipped by a circuit breaker.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class InternalPermissionListener implements EventListener {
+
+	/**
+	 * The command manager whose permission cache will be invalidated.
+	 */
+	private CommandManager commandManager;
+
+	/**
+	 * Construct an internal permission listener.
+	 * 
+	 * @param commandManager The command manager whose permission cache will be
+	 *                       invalidated.
+	 */
+	public InternalPermissionListener(CommandManager commandManager) {
+		this.commandManager = commandManager;
+	}
+
+	/**
+	 * Invalidate a guild's permissions when one of its roles, or a permission
+	 * override of one of its channels, is created, deleted, or updated, or when
+	 * its owner changes, and a member's permissions when they are updated, such as
+	 * when their roles change.
+	 */
+	@Override
+	public void onEvent(GenericEvent event) {
+		PermissionCache cache = this.commandManager.getPermissionCache();
+
+		if (cache == null)
+			return;
+
+		if (event instanceof GenericRoleEvent)
+			cache.invalidate(((GenericRoleEvent) event).getGuild().getIdLong());
+		else if (event instanceof GenericGuildMemberEvent)
+			cache.invalidate(((GenericGuildMemberEvent) event).getGuild().getIdLong(), ((GenericGuildMemberEvent) event).getMember().getIdLong());
+		else if (event instanceof GenericPermissionOverrideEvent)
+			cache.invalidate(((GenericPermissionOverrideEvent) event).getGuild().getIdLong());
+		else if (event instanceof GuildUpdateOwnerEvent)
+			cache.invalidate(((GuildUpdateOwnerEvent) event).getGuild().getIdLong());
+	}
+
+}
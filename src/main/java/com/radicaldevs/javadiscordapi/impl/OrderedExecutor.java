@@ -0,0 +1,153 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.function.Supplier;
+
+/**
+ * An executor that runs tasks with the same key in the order they were
+ * submitted, while tasks with different keys run in parallel.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+class OrderedExecutor {
+
+	/**
+	 * Supplies the executor that runs the tasks.
+	 */
+	private final Supplier<Executor> executor;
+
+	/**
+	 * The lanes that have pending tasks, by their key.
+	 */
+	private final ConcurrentHashMap<Long, Lane> lanes;
+
+	/**
+	 * Construct a new ordered executor.
+	 * 
+	 * @param executor Supplies the executor that runs the tasks.
+	 */
+	OrderedExecutor(Supplier<Executor> executor) {
+		this.executor = executor;
+		this.lanes = new ConcurrentHashMap<Long, Lane>();
+	}
+
+	/**
+	 * Run a task after all of the tasks previously submitted with the same key.
+	 * 
+	 * @param key  The task's key.
+	 * @param task The task.
+	 */
+	void execute(long key, Runnable task) {
+		while (true) {
+			Lane lane = this.lanes.computeIfAbsent(key, Lane::new);
+
+			// If the lane was retired after it was looked up, try again.
+			if (lane.offer(task))
+				return;
+		}
+	}
+
+	/**
+	 * A queue of tasks that share a key.
+	 */
+	private class Lane implements Runnable {
+
+		/**
+		 * The lane's key.
+		 */
+		private final long key;
+
+		/**
+		 * The tasks waiting to run.
+		 */
+		private final ArrayDeque<Runnable> tasks;
+
+		/**
+		 * If the lane has been submitted to the executor.
+		 */
+		private boolean running;
+
+		/**
+		 * If the lane has been removed, and can no longer accept tasks.
+		 */
+		private boolean retired;
+
+		/**
+		 * Construct a new lane.
+		 * 
+		 * @param key The lane's key.
+		 */
+		private Lane(long key) {
+			this.key = key;
+			this.tasks = new ArrayDeque<Runnable>();
+		}
+
+		/**
+		 * Add a task to the lane, and submit the lane if it is not running.
+		 * 
+		 * @param task The task.
+		 * @return If the task was added, or false if the lane was retired.
+		 */
+		private boolean offer(Runnable task) {
+			synchronized (this) {
+				if (this.retired)
+					return false;
+
+				this.tasks.add(task);
+
+				if (this.running)
+					return true;
+
+				this.running = true;
+			}
+
+			this.submit();
+			return true;
+		}
+
+		/**
+		 * Submit the lane to the executor.
+		 */
+		private void submit() {
+			try {
+				OrderedExecutor.this.executor.get().execute(this);
+			} catch (RejectedExecutionException e) {
+				// The executor has been shut down, drain the lane on this thread instead.
+				this.run();
+			}
+		}
+
+		@Override
+		public void run() {
+			while (true) {
+				Runnable task;
+
+				synchronized (this) {
+					task = this.tasks.poll();
+
+					if (task == null) {
+						this.retired = true;
+						OrderedExecutor.this.lanes.remove(this.key, this);
+						return;
+					}
+				}
+
+				try {
+					task.run();
+				} catch (RuntimeException e) {
+					e.printStackTrace();
+				} catch (Error e) {
+					// Hand the rest of the lane to another thread, so it is not left running forever.
+					this.submit();
+					throw e;
+				}
+			}
+		}
+
+	}
+
+}
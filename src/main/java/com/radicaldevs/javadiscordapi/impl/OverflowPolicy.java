@@ -0,0 +1,33 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+/**
+ * What to do with an event when a bounded buffer of events is full.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public enum OverflowPolicy {
+
+	/**
+	 * Block the thread offering the event until there is space for it.
+	 */
+	BLOCK,
+
+	/**
+	 * Discard the oldest buffered event that also has this policy to make space
+	 * for the event, or the event itself if there is none.
+	 */
+	DROP_OLDEST,
+
+	/**
+	 * Discard the event.
+	 */
+	DROP_NEWEST,
+
+	/**
+	 * Replace a buffered event of the same type about the same entity, if there
+	 * is one. Otherwise the event is discarded when the buffer is full.
+	 */
+	COALESCE;
+
+}
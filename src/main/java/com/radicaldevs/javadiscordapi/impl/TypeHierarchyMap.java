@@ -0,0 +1,161 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * A map of values set for classes, which are inherited by their subclasses.
+ * 
+ * <p>
+ * The value of each class is resolved once, and cached until the map is
+ * modified. The values and the cache are published together as a snapshot, so
+ * a lookup that races with a modification can only cache its value in the
+ * snapshot it read, which is replaced.
+ * </p>
+ * 
+ * @param <V> The type of the values.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+final class TypeHierarchyMap<V> {
+
+	/**
+	 * The value of classes that have not been given one, or inherited one.
+	 */
+	private final V defaultValue;
+
+	/**
+	 * The current snapshot of the map.
+	 */
+	private volatile Snapshot<V> snapshot;
+
+	/**
+	 * A placeholder for classes without a value, as concurrent maps can not hold
+	 * null.
+	 */
+	private static final Object NONE = new Object();
+
+	/**
+	 * Construct a new type hierarchy map.
+	 * 
+	 * @param defaultValue The value of classes that are not given one, may be
+	 *                     null.
+	 */
+	TypeHierarchyMap(V defaultValue) {
+		this.defaultValue = defaultValue;
+		this.snapshot = new Snapshot<V>(Collections.emptyMap());
+	}
+
+	/**
+	 * Get the value of a class.
+	 * 
+	 * @param type The class.
+	 * @return The value set for the class or its closest superclass or interface,
+	 *         otherwise the default value.
+	 */
+	@SuppressWarnings("unchecked")
+	V get(Class<?> type) {
+		Snapshot<V> snapshot = this.snapshot;
+		Object value = snapshot.resolved.get(type);
+
+		if (value == null)
+			value = snapshot.resolved.computeIfAbsent(type, key -> this.resolve(snapshot.values, key));
+
+		return value == NONE ? null : (V) value;
+	}
+
+	/**
+	 * Set the value of a class, and its subclasses.
+	 * 
+	 * @param type  The class.
+	 * @param value The value, or null to remove it.
+	 */
+	synchronized void put(Class<?> type, V value) {
+		Map<Class<?>, V> values = new HashMap<Class<?>, V>(this.snapshot.values);
+
+		if (value == null)
+			values.remove(type);
+		else
+			values.put(type, value);
+
+		this.snapshot = new Snapshot<V>(values);
+	}
+
+	/**
+	 * Find the value of a class.
+	 * 
+	 * @param values The values that have been set for classes.
+	 * @param type   The class.
+	 * @return The value, or {@link #NONE}.
+	 */
+	private Object resolve(Map<Class<?>, V> values, Class<?> type) {
+		V value = find(values, type);
+
+		if (value == null)
+			value = this.defaultValue;
+
+		return value == null ? NONE : value;
+	}
+
+	/**
+	 * Find the value set for a class, or its closest superclass or interface.
+	 * 
+	 * @param <V>    The type of the values.
+	 * @param values The values that have been set for classes.
+	 * @param type   The class.
+	 * @return The value, or null if none was set.
+	 */
+	private static <V> V find(Map<Class<?>, V> values, Class<?> type) {
+		for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+			V value = values.get(superclass);
+
+			if (value != null)
+				return value;
+		}
+
+		for (Class<?> superclass = type; superclass != null; superclass = superclass.getSuperclass()) {
+			for (Class<?> iface : superclass.getInterfaces()) {
+				V value = find(values, iface);
+
+				if (value != null)
+					return value;
+			}
+		}
+
+		return null;
+	}
+
+	/**
+	 * The values that have been set for classes, and the values they resolved to.
+	 * 
+	 * @param <V> The type of the values.
+	 */
+	private static final class Snapshot<V> {
+
+		/**
+		 * The values that have been set for classes, which are never modified.
+		 */
+		private final Map<Class<?>, V> values;
+
+		/**
+		 * The value of each class that has been looked up, including inherited
+		 * values.
+		 */
+		private final ConcurrentHashMap<Class<?>, Object> resolved;
+
+		/**
+		 * Construct a new snapshot.
+		 * 
+		 * @param values The values that have been set for classes.
+		 */
+		private Snapshot(Map<Class<?>, V> values) {
+			this.values = values;
+			this.resolved = new ConcurrentHashMap<Class<?>, Object>();
+		}
+
+	}
+
+}
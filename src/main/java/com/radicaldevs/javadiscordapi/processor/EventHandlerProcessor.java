@@ -0,0 +1,275 @@
+package com.radicaldevs.javadiscordapi.processor;
+
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.type.WildcardType;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * An annotation processor that generates a
+ * {@link com.radicaldevs.javadiscordapi.event.ListenerDispatcher} for each
+ * listener class with {@link com.radicaldevs.javadiscordapi.event.EventHandler}
+ * methods.
+ * 
+ * <p>
+ * The processor is registered as a service, so it runs whenever this library is
+ * on the compile classpath. It can be disabled with <code>-proc:none</code>, in
+ * which case listeners are scanned with reflection when they are registered.
+ * </p>
+ * 
+ * <p>
+ * If any of a listener's handlers can not be called from generated code, no
+ * dispatcher is generated for the listener.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@SupportedAnnotationTypes("*")
+public class EventHandlerProcessor extends AbstractProcessor {
+
+	/**
+	 * The name of the listener interface.
+	 */
+	private static final String LISTENER = "com.radicaldevs.javadiscordapi.event.Listener";
+
+	/**
+	 * The name of the event handler annotation.
+	 */
+	private static final String EVENT_HANDLER = "com.radicaldevs.javadiscordapi.event.EventHandler";
+
+	/**
+	 * The name of JDA's base event interface.
+	 */
+	private static final String GENERIC_EVENT = "net.dv8tion.jda.api.events.GenericEvent";
+
+	/**
+	 * The suffix of generated dispatchers, this must match
+	 * {@link com.radicaldevs.javadiscordapi.event.ListenerDispatcher#SUFFIX}.
+	 */
+	private static final String SUFFIX = "$$EventDispatcher";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement listener = this.processingEnv.getElementUtils().getTypeElement(LISTENER);
+		TypeElement genericEvent = this.processingEnv.getElementUtils().getTypeElement(GENERIC_EVENT);
+
+		// Nothing can be generated without the api on the classpath.
+		if (listener == null || genericEvent == null)
+			return false;
+
+		List<TypeElement> types = new ArrayList<TypeElement>();
+
+		for (TypeElement type : ElementFilter.typesIn(roundEnv.getRootElements()))
+			this.collectTypes(type, types);
+
+		for (TypeElement type : types) {
+			if (!this.processingEnv.getTypeUtils().isAssignable(type.asType(), this.erasure(listener)))
+				continue;
+
+			List<ExecutableElement> handlers = this.findHandlers(type, genericEvent);
+
+			if (handlers != null && !handlers.isEmpty())
+				this.generate(type, handlers);
+		}
+
+		return false;
+	}
+
+	/**
+	 * Collect a type, and all of its member types.
+	 * 
+	 * @param type  The type.
+	 * @param types The list to add the types to.
+	 */
+	private void collectTypes(TypeElement type, List<TypeElement> types) {
+		types.add(type);
+
+		for (TypeElement member : ElementFilter.typesIn(type.getEnclosedElements()))
+			this.collectTypes(member, types);
+	}
+
+	/**
+	 * Find the event handler methods of a listener class.
+	 * 
+	 * <p>
+	 * This mirrors the checks made by the listener manager when it scans a
+	 * listener with reflection.
+	 * </p>
+	 * 
+	 * @param type         The listener class.
+	 * @param genericEvent JDA's base event interface.
+	 * @return The handlers, or null if a dispatcher can not be generated for the
+	 *         listener.
+	 */
+	private List<ExecutableElement> findHandlers(TypeElement type, TypeElement genericEvent) {
+		if (type.getKind() != ElementKind.CLASS || type.getModifiers().contains(Modifier.ABSTRACT) || !this.isAccessible(type))
+			return null;
+
+		TypeMirror exception = this.processingEnv.getElementUtils().getTypeElement("java.lang.Exception").asType();
+		TypeMirror error = this.processingEnv.getElementUtils().getTypeElement("java.lang.Error").asType();
+		List<ExecutableElement> handlers = new ArrayList<ExecutableElement>();
+
+		for (ExecutableElement method : ElementFilter.methodsIn(this.processingEnv.getElementUtils().getAllMembers(type))) {
+			if (!this.hasEventHandler(method) || method.getParameters().size() != 1)
+				continue;
+
+			if (!method.getModifiers().contains(Modifier.PUBLIC))
+				continue;
+
+			if (!this.acceptsEvents(method.getParameters().get(0).asType(), genericEvent))
+				continue;
+
+			// Generated executors may only throw exceptions.
+			for (TypeMirror thrown : method.getThrownTypes())
+				if (!this.processingEnv.getTypeUtils().isAssignable(thrown, exception) && !this.processingEnv.getTypeUtils().isAssignable(thrown, error))
+					return null;
+
+			handlers.add(method);
+		}
+
+		return handlers;
+	}
+
+	/**
+	 * Check if a parameter type is an event, or a list of events.
+	 * 
+	 * @param type         The parameter type.
+	 * @param genericEvent JDA's base event interface.
+	 * @return If the parameter can accept events.
+	 */
+	private boolean acceptsEvents(TypeMirror type, TypeElement genericEvent) {
+		if (this.isList(type)) {
+			List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+
+			if (arguments.size() != 1)
+				return false;
+
+			type = arguments.get(0);
+
+			if (type.getKind() == TypeKind.WILDCARD)
+				type = ((WildcardType) type).getExtendsBound();
+
+			if (type == null)
+				return false;
+		}
+
+		return type.getKind() == TypeKind.DECLARED && this.processingEnv.getTypeUtils().isAssignable(this.processingEnv.getTypeUtils().erasure(type), this.erasure(genericEvent));
+	}
+
+	/**
+	 * Check if a type is {@link java.util.List}.
+	 * 
+	 * @param type The type.
+	 * @return If the type is a list.
+	 */
+	private boolean isList(TypeMirror type) {
+		return type.getKind() == TypeKind.DECLARED && ((TypeElement) ((DeclaredType) type).asElement()).getQualifiedName().contentEquals("java.util.List");
+	}
+
+	/**
+	 * Check if a method is annotated with the event handler annotation.
+	 * 
+	 * @param method The method.
+	 * @return If the method is an event handler.
+	 */
+	private boolean hasEventHandler(ExecutableElement method) {
+		return method.getAnnotationMirrors().stream().anyMatch(annotation -> ((TypeElement) annotation.getAnnotationType().asElement()).getQualifiedName().contentEquals(EVENT_HANDLER));
+	}
+
+	/**
+	 * Check if a type can be accessed by a class generated in its package.
+	 * 
+	 * @param type The type.
+	 * @return If the type is accessible.
+	 */
+	private boolean isAccessible(TypeElement type) {
+		for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement())
+			if (element.getModifiers().contains(Modifier.PRIVATE))
+				return false;
+
+		return true;
+	}
+
+	/**
+	 * Get the erasure of a type.
+	 * 
+	 * @param type The type.
+	 * @return The erased type.
+	 */
+	private TypeMirror erasure(TypeElement type) {
+		return this.processingEnv.getTypeUtils().erasure(type.asType());
+	}
+
+	/**
+	 * Generate the dispatcher for a listener class.
+	 * 
+	 * @param type     The listener class.
+	 * @param handlers The listener's event handler methods.
+	 */
+	private void generate(TypeElement type, List<ExecutableElement> handlers) {
+		PackageElement pkg = this.processingEnv.getElementUtils().getPackageOf(type);
+		String binaryName = this.processingEnv.getElementUtils().getBinaryName(type).toString();
+		String simpleName = (pkg.isUnnamed() ? binaryName : binaryName.substring(pkg.getQualifiedName().length() + 1)) + SUFFIX;
+		String listenerName = this.erasure(type).toString();
+
+		try (PrintWriter out = new PrintWriter(this.processingEnv.getFiler().createSourceFile(binaryName + SUFFIX, type).openWriter())) {
+			if (!pkg.isUnnamed()) {
+				out.println("package " + pkg.getQualifiedName() + ";");
+				out.println();
+			}
+
+			out.println("@javax.annotation.processing.Generated(\"" + EventHandlerProcessor.class.getName() + "\")");
+			out.println("public final class " + simpleName + " implements com.radicaldevs.javadiscordapi.event.ListenerDispatcher {");
+			out.println();
+			out.println("\t@Override");
+			out.println("\t@SuppressWarnings(\"unchecked\")");
+			out.println("\tpublic java.util.Map<java.lang.reflect.Method, com.radicaldevs.javadiscordapi.event.EventExecutor> createExecutors(com.radicaldevs.javadiscordapi.event.Listener listener) throws NoSuchMethodException {");
+			out.println("\t\t" + listenerName + " target = (" + listenerName + ") listener;");
+			out.println("\t\tjava.util.Map<java.lang.reflect.Method, com.radicaldevs.javadiscordapi.event.EventExecutor> executors = new java.util.LinkedHashMap<java.lang.reflect.Method, com.radicaldevs.javadiscordapi.event.EventExecutor>();");
+
+			for (ExecutableElement handler : handlers) {
+				TypeMirror parameter = handler.getParameters().get(0).asType();
+				String parameterName = this.processingEnv.getTypeUtils().erasure(parameter).toString();
+				String castName = this.isList(parameter) ? parameter.toString() : parameterName;
+				String methodName = handler.getSimpleName().toString();
+
+				// Static handlers are called on the listener class, not the instance.
+				String receiver = handler.getModifiers().contains(Modifier.STATIC) ? listenerName : "target";
+
+				out.println("\t\texecutors.put(" + listenerName + ".class.getMethod(\"" + methodName + "\", " + parameterName + ".class), event -> " + receiver + "." + methodName + "((" + castName + ") event));");
+			}
+
+			out.println("\t\treturn executors;");
+			out.println("\t}");
+			out.println();
+			out.println("}");
+		} catch (IOException e) {
+			this.processingEnv.getMessager().printMessage(Kind.WARNING, "Could not generate an event dispatcher: " + e.getMessage(), type);
+		}
+	}
+
+}
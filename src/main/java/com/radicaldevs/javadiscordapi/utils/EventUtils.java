@@ -0,0 +1,188 @@
+package com.radicaldevs.javadiscordapi.utils;
+
+import net.dv8tion.jda.api.entities.ChannelType;
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+import net.dv8tion.jda.api.entities.User;
+import net.dv8tion.jda.api.events.GenericEvent;
+import net.dv8tion.jda.api.events.channel.GenericChannelEvent;
+import net.dv8tion.jda.api.events.guild.GenericGuildEvent;
+import net.dv8tion.jda.api.events.guild.member.GenericGuildMemberEvent;
+import net.dv8tion.jda.api.events.message.GenericMessageEvent;
+import net.dv8tion.jda.api.events.message.MessageReceivedEvent;
+import net.dv8tion.jda.api.events.message.MessageUpdateEvent;
+import net.dv8tion.jda.api.events.role.GenericRoleEvent;
+import net.dv8tion.jda.api.events.user.GenericUserEvent;
+import net.dv8tion.jda.api.events.user.UserTypingEvent;
+import net.dv8tion.jda.api.events.user.update.GenericUserPresenceEvent;
+
+/**
+ * A class containing utilities to inspect events.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public final class EventUtils {
+
+	/**
+	 * Get the guild an event occurred in.
+	 * 
+	 * @param event The event.
+	 * @return The guild, or null if the event did not occur in a guild.
+	 */
+	public static Guild getGuild(GenericEvent event) {
+		if (event instanceof GenericGuildEvent)
+			return ((GenericGuildEvent) event).getGuild();
+
+		if (event instanceof GenericMessageEvent)
+			return ((GenericMessageEvent) event).isFromGuild() ? ((GenericMessageEvent) event).getGuild() : null;
+
+		if (event instanceof GenericRoleEvent)
+			return ((GenericRoleEvent) event).getGuild();
+
+		if (event instanceof GenericUserPresenceEvent)
+			return ((GenericUserPresenceEvent) event).getGuild();
+
+		if (event instanceof UserTypingEvent)
+			return ((UserTypingEvent) event).getGuild();
+
+		if (event instanceof GenericChannelEvent)
+			return ((GenericChannelEvent) event).isFromGuild() ? ((GenericChannelEvent) event).getGuild() : null;
+
+		return null;
+	}
+
+	/**
+	 * Get the channel an event occurred in.
+	 * 
+	 * @param event The event.
+	 * @return The channel, or null if the event did not occur in a channel.
+	 */
+	public static MessageChannel getChannel(GenericEvent event) {
+		if (event instanceof GenericMessageEvent)
+			return ((GenericMessageEvent) event).getChannel();
+
+		if (event instanceof UserTypingEvent)
+			return ((UserTypingEvent) event).getChannel();
+
+		if (event instanceof GenericChannelEvent && ((GenericChannelEvent) event).getChannel() instanceof MessageChannel)
+			return (MessageChannel) ((GenericChannelEvent) event).getChannel();
+
+		return null;
+	}
+
+	/**
+	 * Get the type of channel an event occurred in.
+	 * 
+	 * @param event The event.
+	 * @return The channel type, or null if the event did not occur in a channel.
+	 */
+	public static ChannelType getChannelType(GenericEvent event) {
+		if (event instanceof GenericMessageEvent)
+			return ((GenericMessageEvent) event).getChannelType();
+
+		if (event instanceof UserTypingEvent)
+			return ((UserTypingEvent) event).getType();
+
+		if (event instanceof GenericChannelEvent)
+			return ((GenericChannelEvent) event).getChannelType();
+
+		return null;
+	}
+
+	/**
+	 * Get the user that caused an event.
+	 * 
+	 * @param event The event.
+	 * @return The user, or null if the event was not caused by a user.
+	 */
+	public static User getUser(GenericEvent event) {
+		if (event instanceof MessageReceivedEvent)
+			return ((MessageReceivedEvent) event).getAuthor();
+
+		if (event instanceof MessageUpdateEvent)
+			return ((MessageUpdateEvent) event).getAuthor();
+
+		if (event instanceof GenericGuildMemberEvent)
+			return ((GenericGuildMemberEvent) event).getUser();
+
+		if (event instanceof GenericUserEvent)
+			return ((GenericUserEvent) event).getUser();
+
+		return null;
+	}
+
+	/**
+	 * Get the message an event is about.
+	 * 
+	 * @param event The event.
+	 * @return The message, or null if the event does not carry a message.
+	 */
+	public static Message getMessage(GenericEvent event) {
+		if (event instanceof MessageReceivedEvent)
+			return ((MessageReceivedEvent) event).getMessage();
+
+		if (event instanceof MessageUpdateEvent)
+			return ((MessageUpdateEvent) event).getMessage();
+
+		return null;
+	}
+
+	/**
+	 * Get the id of the entity an event is about.
+	 * 
+	 * <p>
+	 * This is the message's id for message events, the user's id for other
+	 * events caused by a user, and the role's id for role events. Message events
+	 * are keyed by their message, so different messages by the same user are
+	 * different entities.
+	 * </p>
+	 * 
+	 * @param event The event.
+	 * @return The entity's id, or 0 if the event is not about an entity.
+	 */
+	public static long getEntityId(GenericEvent event) {
+		if (event instanceof GenericMessageEvent)
+			return ((GenericMessageEvent) event).getMessageIdLong();
+
+		User user = getUser(event);
+
+		if (user != null)
+			return user.getIdLong();
+
+		if (event instanceof GenericRoleEvent)
+			return ((GenericRoleEvent) event).getRole().getIdLong();
+
+		return 0;
+	}
+
+	/**
+	 * Get the key that orders an event relative to other events.
+	 * 
+	 * <p>
+	 * Events in a guild are keyed by the guild's id, and events in a private
+	 * channel are keyed by the channel's id. All other events share the key 0.
+	 * </p>
+	 * 
+	 * @param event The event.
+	 * @return The event's ordering key.
+	 */
+	public static long getOrderingKey(GenericEvent event) {
+		Guild guild = getGuild(event);
+
+		if (guild != null)
+			return guild.getIdLong();
+
+		MessageChannel channel = getChannel(event);
+
+		return channel != null ? channel.getIdLong() : 0;
+	}
+
+	/**
+	 * This class should not be instantiated.
+	 */
+	private EventUtils() {
+	}
+
+}
@@ -0,0 +1,124 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests {@link Arguments}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class ArgumentsTest {
+
+	/**
+	 * Arguments are separated by runs of whitespace, starting at the offset.
+	 */
+	@Test
+	public void splitsOnRunsOfWhitespace() {
+		Arguments args = Arguments.tokenize("!ban  123\n\tspam ", 1);
+
+		assertArrayEquals(new String[] { "ban", "123", "spam" }, args.toArray());
+		assertEquals(3, args.size());
+	}
+
+	/**
+	 * Content without arguments produces an empty view.
+	 */
+	@Test
+	public void tokenizesEmptyContent() {
+		assertTrue(Arguments.tokenize("!", 1).isEmpty());
+		assertTrue(Arguments.tokenize("!   \n", 1).isEmpty());
+		assertEquals(0, Arguments.of().size());
+	}
+
+	/**
+	 * A quoted argument can contain whitespace, and the quotes are not part of it.
+	 */
+	@Test
+	public void groupsQuotedArguments() {
+		Arguments args = Arguments.tokenize("!say \"hello  world\" \"\" end", 1);
+
+		assertArrayEquals(new String[] { "say", "hello  world", "", "end" }, args.toArray());
+	}
+
+	/**
+	 * Quotes that do not end an argument, or are not closed, are split at their
+	 * whitespace.
+	 */
+	@Test
+	public void splitsQuotesThatDoNotEndAnArgument() {
+		assertArrayEquals(new String[] { "\"a", "b\"c" }, Arguments.tokenize("\"a b\"c", 0).toArray());
+		assertArrayEquals(new String[] { "\"a", "b" }, Arguments.tokenize("\"a b", 0).toArray());
+	}
+
+	/**
+	 * Shifting a view drops its first argument, without changing the view it was
+	 * shifted from.
+	 */
+	@Test
+	public void shiftsArguments() {
+		Arguments args = Arguments.tokenize("!config set prefix", 1);
+		Arguments shifted = args.shift();
+
+		assertEquals("set", shifted.get(0));
+		assertEquals(2, shifted.size());
+		assertEquals("config", args.get(0));
+		assertTrue(shifted.shift().shift().isEmpty());
+		assertThrows(IndexOutOfBoundsException.class, () -> shifted.shift().shift().shift());
+	}
+
+	/**
+	 * Arguments outside of the view can not be accessed.
+	 */
+	@Test
+	public void rejectsIndexesOutsideOfTheView() {
+		Arguments args = Arguments.tokenize("!a b", 1).shift();
+
+		assertThrows(IndexOutOfBoundsException.class, () -> args.get(1));
+		assertThrows(IndexOutOfBoundsException.class, () -> args.get(-1));
+		assertThrows(IndexOutOfBoundsException.class, () -> args.remainder(1));
+	}
+
+	/**
+	 * Arguments are matched ignoring case.
+	 */
+	@Test
+	public void matchesIgnoringCase() {
+		Arguments args = Arguments.tokenize("!Help me", 1);
+
+		assertTrue(args.matches(0, "help"));
+		assertFalse(args.matches(0, "hel"));
+		assertFalse(args.matches(1, "help"));
+	}
+
+	/**
+	 * The remainder keeps the whitespace between arguments, and the quotes of
+	 * quoted arguments.
+	 */
+	@Test
+	public void keepsTheRemainderAsItWasWritten() {
+		Arguments args = Arguments.tokenize("!ban 123  \"spamming in\"\ngeneral ", 1).shift();
+
+		assertEquals("\"spamming in\"\ngeneral", args.remainder(1));
+		assertEquals("general", args.remainder(2));
+		assertEquals("123  \"spamming in\"\ngeneral", args.remainder(0));
+	}
+
+	/**
+	 * The remainder of arguments that were already split joins them with spaces.
+	 */
+	@Test
+	public void joinsTheRemainderOfSplitArguments() {
+		Arguments args = Arguments.of("ban", "123", "spamming", "in", "general");
+
+		assertArrayEquals(new String[] { "ban", "123", "spamming", "in", "general" }, args.toArray());
+		assertEquals("spamming in general", args.remainder(2));
+	}
+
+}
@@ -0,0 +1,216 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.time.Duration;
+import java.util.Collections;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.entities.Guild;
+import net.dv8tion.jda.api.entities.Member;
+import net.dv8tion.jda.api.entities.Message;
+import net.dv8tion.jda.api.entities.MessageChannel;
+
+/**
+ * Tests the {@link PermissionCache}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class PermissionCacheTest {
+
+	/**
+	 * A command that counts how many times its permission check is run.
+	 */
+	private static class CountingCommand extends Command {
+
+		/**
+		 * The number of times the permission check has been run.
+		 */
+		private final AtomicInteger checks;
+
+		/**
+		 * Construct a new counting command.
+		 * 
+		 * @param checks The counter of the permission checks.
+		 * @param check  The permission check.
+		 */
+		private CountingCommand(AtomicInteger checks, Predicate<Member> check) {
+			super("test", "A test command.", Collections.emptyList(), member -> {
+				checks.incrementAndGet();
+				return check.test(member);
+			});
+
+			this.checks = checks;
+		}
+
+		/**
+		 * Construct a new counting command that permits every member.
+		 */
+		private CountingCommand() {
+			this(new AtomicInteger(), member -> true);
+		}
+
+		@Override
+		public boolean onCommand(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args) {
+			return true;
+		}
+
+		@Override
+		public boolean onPermissionDenied(Guild guild, Member member, MessageChannel channel, Message rawMessage, String[] args) {
+			return true;
+		}
+
+	}
+
+	/**
+	 * Create a member that only has an id and a guild.
+	 * 
+	 * @param guildId  The id of the member's guild.
+	 * @param memberId The member's id.
+	 * @return The member.
+	 */
+	private static Member member(long guildId, long memberId) {
+		Guild guild = (Guild) Proxy.newProxyInstance(Guild.class.getClassLoader(), new Class<?>[] { Guild.class }, (proxy, method, args) -> {
+			if (method.getName().equals("getIdLong"))
+				return guildId;
+
+			throw new UnsupportedOperationException(method.getName());
+		});
+
+		return (Member) Proxy.newProxyInstance(Member.class.getClassLoader(), new Class<?>[] { Member.class }, (proxy, method, args) -> {
+			if (method.getName().equals("getIdLong"))
+				return memberId;
+
+			if (method.getName().equals("getGuild"))
+				return guild;
+
+			throw new UnsupportedOperationException(method.getName());
+		});
+	}
+
+	/**
+	 * The result of a check is cached, per command.
+	 */
+	@Test
+	public void cachesResults() {
+		PermissionCache cache = new PermissionCache(Duration.ofHours(1));
+		CountingCommand command = new CountingCommand();
+		CountingCommand other = new CountingCommand();
+		Member member = member(1, 2);
+
+		assertTrue(cache.test(command, member));
+		assertTrue(cache.test(command, member));
+		assertTrue(cache.test(other, member));
+
+		assertEquals(1, command.checks.get());
+		assertEquals(1, other.checks.get());
+		assertEquals(2, cache.size());
+	}
+
+	/**
+	 * Denials are cached the same way as permissions.
+	 */
+	@Test
+	public void cachesDenials() {
+		PermissionCache cache = new PermissionCache(Duration.ofHours(1));
+		CountingCommand command = new CountingCommand(new AtomicInteger(), member -> false);
+		Member member = member(1, 2);
+
+		assertFalse(cache.test(command, member));
+		assertFalse(cache.test(command, member));
+		assertEquals(1, command.checks.get());
+	}
+
+	/**
+	 * Invalidating a guild runs the checks of all of its members again, and
+	 * invalidating a member only runs that member's checks again.
+	 */
+	@Test
+	public void invalidatesGuildsAndMembers() {
+		PermissionCache cache = new PermissionCache(Duration.ofHours(1));
+		CountingCommand command = new CountingCommand();
+		Member first = member(1, 2);
+		Member second = member(1, 3);
+		Member elsewhere = member(4, 2);
+
+		cache.test(command, first);
+		cache.test(command, second);
+		cache.test(command, elsewhere);
+
+		cache.invalidate(1, 2);
+		cache.test(command, first);
+		cache.test(command, second);
+		cache.test(command, elsewhere);
+
+		assertEquals(4, command.checks.get());
+
+		cache.invalidate(1);
+		cache.test(command, first);
+		cache.test(command, second);
+		cache.test(command, elsewhere);
+
+		assertEquals(6, command.checks.get());
+
+		cache.invalidateAll();
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * A result computed while its guild is invalidated is not cached.
+	 */
+	@Test
+	public void doesNotCacheResultsInvalidatedWhileChecking() {
+		PermissionCache cache = new PermissionCache(Duration.ofHours(1));
+		CountingCommand command = new CountingCommand(new AtomicInteger(), member -> {
+			cache.invalidate(member.getGuild().getIdLong());
+			return true;
+		});
+		Member member = member(1, 2);
+
+		cache.test(command, member);
+		cache.test(command, member);
+
+		assertEquals(2, command.checks.get());
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * Results expire, and expired results are removed when the cache is cleaned
+	 * up.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void expiresResults() throws InterruptedException {
+		PermissionCache cache = new PermissionCache(Duration.ofMillis(10));
+		CountingCommand command = new CountingCommand();
+		Member member = member(1, 2);
+
+		cache.test(command, member);
+		Thread.sleep(30);
+		cache.test(command, member);
+
+		assertEquals(2, command.checks.get());
+
+		Thread.sleep(30);
+		cache.cleanUp();
+		assertEquals(0, cache.size());
+	}
+
+	/**
+	 * The expiry must be positive.
+	 */
+	@Test
+	public void rejectsExpiriesThatAreNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> new PermissionCache(Duration.ZERO));
+	}
+
+}
@@ -0,0 +1,76 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link PrefixMatcher}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class PrefixMatcherTest {
+
+	/**
+	 * The longest prefix a message starts with is matched.
+	 */
+	@Test
+	public void matchesTheLongestPrefix() {
+		PrefixMatcher matcher = PrefixMatcher.of(Arrays.asList("!", "!!", "bot "));
+
+		assertEquals(1, matcher.match("!ping"));
+		assertEquals(2, matcher.match("!!ping"));
+		assertEquals(4, matcher.match("bot ping"));
+	}
+
+	/**
+	 * Messages that do not start with a prefix are not matched.
+	 */
+	@Test
+	public void rejectsMessagesWithoutAPrefix() {
+		PrefixMatcher matcher = PrefixMatcher.of(Arrays.asList("!", "bot "));
+
+		assertEquals(-1, matcher.match("ping"));
+		assertEquals(-1, matcher.match("bo"));
+		assertEquals(-1, matcher.match("bot"));
+		assertEquals(-1, matcher.match(""));
+	}
+
+	/**
+	 * Prefixes are lower cased, and messages are matched as they are.
+	 */
+	@Test
+	public void lowerCasesPrefixes() {
+		PrefixMatcher matcher = PrefixMatcher.of(Collections.singletonList("Bot!"));
+
+		assertEquals(4, matcher.match("bot!ping"));
+		assertEquals(-1, matcher.match("Bot!ping"));
+	}
+
+	/**
+	 * Prefixes that start with characters outside of ASCII are matched.
+	 */
+	@Test
+	public void matchesPrefixesOutsideOfAscii() {
+		PrefixMatcher matcher = PrefixMatcher.of(Arrays.asList("\u00A1", "!"));
+
+		assertEquals(1, matcher.match("\u00A1ping"));
+		assertEquals(-1, matcher.match("\u00BFping"));
+	}
+
+	/**
+	 * No message is matched without prefixes, and every message is matched by an
+	 * empty prefix.
+	 */
+	@Test
+	public void matchesEmptyPrefixes() {
+		assertEquals(-1, PrefixMatcher.of(Collections.emptyList()).match("!ping"));
+		assertEquals(0, PrefixMatcher.of(Collections.singletonList("")).match("ping"));
+		assertEquals(1, PrefixMatcher.of(Arrays.asList("", "!")).match("!ping"));
+	}
+
+}
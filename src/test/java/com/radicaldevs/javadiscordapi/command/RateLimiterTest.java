@@ -0,0 +1,124 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link RateLimiter}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class RateLimiterTest {
+
+	/**
+	 * A cooldown allows a key to be used once, and reports the time until it can
+	 * be used again.
+	 */
+	@Test
+	public void allowsOneUsePerCooldown() {
+		RateLimiter limiter = RateLimiter.cooldown(Duration.ofHours(1));
+
+		assertEquals(0, limiter.tryAcquire(1));
+
+		long wait = limiter.tryAcquire(1);
+
+		assertTrue(wait > 0 && wait <= Duration.ofHours(1).toNanos());
+	}
+
+	/**
+	 * A key can use all of its permits at once.
+	 */
+	@Test
+	public void allowsBurstsUpToThePermits() {
+		RateLimiter limiter = new RateLimiter(3, Duration.ofHours(1));
+
+		for (int i = 0; i < 3; i++)
+			assertEquals(0, limiter.tryAcquire(1));
+
+		assertTrue(limiter.tryAcquire(1) > 0);
+	}
+
+	/**
+	 * Every key has its own bucket, including the key 0.
+	 */
+	@Test
+	public void limitsKeysIndependently() {
+		RateLimiter limiter = RateLimiter.cooldown(Duration.ofHours(1));
+
+		assertEquals(0, limiter.tryAcquire(1));
+		assertEquals(0, limiter.tryAcquire(2));
+		assertEquals(0, limiter.tryAcquire(0));
+		assertTrue(limiter.tryAcquire(1) > 0);
+		assertTrue(limiter.tryAcquire(2) > 0);
+		assertTrue(limiter.tryAcquire(0) > 0);
+	}
+
+	/**
+	 * Buckets are kept apart as the stripes grow past their initial capacity.
+	 */
+	@Test
+	public void limitsManyKeys() {
+		RateLimiter limiter = RateLimiter.cooldown(Duration.ofHours(1));
+
+		for (long key = 1; key <= 10000; key++)
+			assertEquals(0, limiter.tryAcquire(key));
+
+		for (long key = 1; key <= 10000; key++)
+			assertTrue(limiter.tryAcquire(key) > 0);
+
+		assertEquals(10000, limiter.size());
+	}
+
+	/**
+	 * A key can be used again once the time it was told to wait has passed.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void refillsAfterTheWait() throws InterruptedException {
+		RateLimiter limiter = RateLimiter.cooldown(Duration.ofMillis(20));
+
+		assertEquals(0, limiter.tryAcquire(1));
+
+		long wait = limiter.tryAcquire(1);
+
+		assertTrue(wait > 0);
+		Thread.sleep(TimeUnit.NANOSECONDS.toMillis(wait) + 5);
+		assertEquals(0, limiter.tryAcquire(1));
+	}
+
+	/**
+	 * Buckets that are full again are dropped when the limiter is cleaned up.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void dropsFullBucketsWhenCleanedUp() throws InterruptedException {
+		RateLimiter limiter = RateLimiter.cooldown(Duration.ofMillis(10));
+
+		for (long key = 0; key < 100; key++)
+			limiter.tryAcquire(key);
+
+		assertEquals(100, limiter.size());
+		Thread.sleep(30);
+		limiter.cleanUp();
+		assertEquals(0, limiter.size());
+	}
+
+	/**
+	 * The permits and period must be positive.
+	 */
+	@Test
+	public void rejectsLimitsThatAreNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> new RateLimiter(0, Duration.ofSeconds(1)));
+		assertThrows(IllegalArgumentException.class, () -> new RateLimiter(1, Duration.ZERO));
+	}
+
+}
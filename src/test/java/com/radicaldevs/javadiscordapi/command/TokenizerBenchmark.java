@@ -0,0 +1,105 @@
+package com.radicaldevs.javadiscordapi.command;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Compares splitting a command with {@link Arguments} against the path it
+ * replaced, which took a substring after the prefix, split it with
+ * {@code split(" ")}, and copied the remaining arguments with
+ * {@link Arrays#copyOfRange(Object[], int, int)} for every subcommand.
+ * 
+ * <p>
+ * Both paths skip the command's label, consume one argument per level of
+ * subcommands, and copy the remaining arguments into the array passed to the
+ * command that handles them.
+ * </p>
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TokenizerBenchmark {
+
+	/**
+	 * The command prefix.
+	 */
+	private static final String PREFIX = "!";
+
+	/**
+	 * The message, after the prefix.
+	 */
+	@Param({ "ping", "ban 123456789012345678 spamming in general", "config set welcome channel 123456789012345678 Welcome to the server, enjoy your stay!" })
+	public String command;
+
+	/**
+	 * The number of subcommands the arguments are routed through.
+	 */
+	@Param({ "0", "2" })
+	public int depth;
+
+	/**
+	 * The message, including the prefix.
+	 */
+	private String message;
+
+	/**
+	 * Prepend the prefix to the command.
+	 */
+	@Setup
+	public void setup() {
+		this.message = PREFIX + this.command;
+	}
+
+	/**
+	 * Split the message the way it was before {@link Arguments} was added.
+	 * 
+	 * @return The arguments passed to the command that handles them.
+	 */
+	@Benchmark
+	public String[] split() {
+		String[] split = this.message.substring(PREFIX.length()).split(" ");
+		String[] args = Arrays.copyOfRange(split, 1, split.length);
+
+		// Every subcommand consumes its name.
+		for (int i = 0; i < this.depth && args.length > 0; i++)
+			args = Arrays.copyOfRange(args, 1, args.length);
+
+		return args;
+	}
+
+	/**
+	 * Tokenize the message with {@link Arguments}, the way the internal command
+	 * listener does.
+	 * 
+	 * @return The arguments passed to the command that handles them.
+	 */
+	@Benchmark
+	public String[] tokenize() {
+		Arguments args = Arguments.tokenize(this.message, PREFIX.length()).shift();
+
+		// Every subcommand consumes its name.
+		for (int i = 0; i < this.depth && !args.isEmpty(); i++)
+			args = args.shift();
+
+		return args.toArray();
+	}
+
+}
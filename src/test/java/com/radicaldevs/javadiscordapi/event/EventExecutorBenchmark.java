@@ -0,0 +1,153 @@
+package com.radicaldevs.javadiscordapi.event;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Compares invoking an {@link EventHandler} method through an
+ * {@link EventExecutor} against the reflective path it replaced, which wrapped
+ * {@link Method#invoke(Object, Object...)} in a new {@link Runnable} for every
+ * event.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventExecutorBenchmark {
+
+	/**
+	 * The event passed to the handler.
+	 */
+	public static class TestEvent implements GenericEvent {
+
+		@Override
+		public JDA getJDA() {
+			return null;
+		}
+
+		@Override
+		public long getResponseNumber() {
+			return 0;
+		}
+
+	}
+
+	/**
+	 * The listener whose handler is invoked.
+	 */
+	public static class TestListener implements Listener {
+
+		/**
+		 * The number of events the handler has received.
+		 */
+		private long received;
+
+		/**
+		 * The event handler.
+		 * 
+		 * @param event The event.
+		 */
+		@EventHandler
+		public void onEvent(TestEvent event) {
+			this.received++;
+		}
+
+	}
+
+	/**
+	 * The listener.
+	 */
+	private TestListener listener;
+
+	/**
+	 * The listener's handler method.
+	 */
+	private Method method;
+
+	/**
+	 * The executor of the handler method.
+	 */
+	private EventExecutor executor;
+
+	/**
+	 * The event.
+	 */
+	private TestEvent event;
+
+	/**
+	 * Create the listener and its executor.
+	 * 
+	 * @throws ReflectiveOperationException If the handler method can not be
+	 *                                      accessed.
+	 */
+	@Setup
+	public void setup() throws ReflectiveOperationException {
+		this.listener = new TestListener();
+		this.method = TestListener.class.getMethod("onEvent", TestEvent.class);
+		this.executor = EventExecutors.create(this.listener, this.method);
+		this.event = new TestEvent();
+	}
+
+	/**
+	 * Invoke the handler directly, as a baseline.
+	 * 
+	 * @return The number of events the handler has received.
+	 */
+	@Benchmark
+	public long direct() {
+		this.listener.onEvent(this.event);
+		return this.listener.received;
+	}
+
+	/**
+	 * Invoke the handler through its executor.
+	 * 
+	 * @return The number of events the handler has received.
+	 * @throws Exception If the handler throws an exception.
+	 */
+	@Benchmark
+	public long executor() throws Exception {
+		this.executor.execute(this.event);
+		return this.listener.received;
+	}
+
+	/**
+	 * Invoke the handler reflectively, in a new runnable, as it was before
+	 * executors were generated.
+	 * 
+	 * @return The number of events the handler has received.
+	 */
+	@Benchmark
+	public long reflective() {
+		Runnable runnable = () -> {
+			try {
+				this.method.invoke(this.listener, this.event);
+			} catch (ReflectiveOperationException e) {
+				e.printStackTrace();
+			}
+		};
+
+		runnable.run();
+		return this.listener.received;
+	}
+
+}
@@ -0,0 +1,150 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.Duration;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Tests the {@link EventCoalescer}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class EventCoalescerTest {
+
+	/**
+	 * An event that is not about any guild or entity.
+	 */
+	private static class TestEvent implements GenericEvent {
+
+		@Override
+		public JDA getJDA() {
+			return null;
+		}
+
+		@Override
+		public long getResponseNumber() {
+			return 0;
+		}
+
+	}
+
+	/**
+	 * An event of another type, which is never coalesced with a
+	 * {@link TestEvent}.
+	 */
+	private static class OtherEvent extends TestEvent {
+
+	}
+
+	/**
+	 * The events dispatched by the coalescer.
+	 */
+	private BlockingQueue<GenericEvent> dispatched;
+
+	/**
+	 * The coalescer.
+	 */
+	private EventCoalescer coalescer;
+
+	/**
+	 * Create an enabled coalescer.
+	 */
+	@BeforeEach
+	public void setUp() {
+		this.dispatched = new LinkedBlockingQueue<GenericEvent>();
+		this.coalescer = new EventCoalescer(this.dispatched::add);
+		this.coalescer.enable();
+	}
+
+	/**
+	 * Only the newest event of a window is dispatched, once the window closes.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void dispatchesTheNewestEventOfAWindow() throws InterruptedException {
+		TestEvent first = new TestEvent();
+		TestEvent second = new TestEvent();
+
+		this.coalescer.setWindow(TestEvent.class, Duration.ofMillis(50));
+
+		assertTrue(this.coalescer.offer(first));
+		assertTrue(this.coalescer.offer(second));
+		assertEquals(1, this.coalescer.getPendingEvents());
+
+		assertSame(second, this.dispatched.poll(10, TimeUnit.SECONDS));
+		assertNull(this.dispatched.poll(200, TimeUnit.MILLISECONDS));
+		assertEquals(0, this.coalescer.getPendingEvents());
+		assertEquals(Long.valueOf(1), this.coalescer.getCoalescedEvents().get(TestEvent.class));
+	}
+
+	/**
+	 * Events of different types are held in separate windows.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void holdsEventsOfDifferentTypesSeparately() throws InterruptedException {
+		this.coalescer.setWindow(TestEvent.class, Duration.ofMillis(50));
+
+		assertTrue(this.coalescer.offer(new TestEvent()));
+		assertTrue(this.coalescer.offer(new OtherEvent()));
+		assertEquals(2, this.coalescer.getPendingEvents());
+
+		assertTrue(this.dispatched.poll(10, TimeUnit.SECONDS) != null);
+		assertTrue(this.dispatched.poll(10, TimeUnit.SECONDS) != null);
+		assertTrue(this.coalescer.getCoalescedEvents().isEmpty());
+	}
+
+	/**
+	 * Events whose type has no window are not held.
+	 */
+	@Test
+	public void doesNotHoldEventsWithoutAWindow() {
+		this.coalescer.setWindow(OtherEvent.class, Duration.ofMillis(50));
+
+		assertFalse(this.coalescer.offer(new TestEvent()));
+
+		this.coalescer.setWindow(OtherEvent.class, null);
+
+		assertFalse(this.coalescer.offer(new OtherEvent()));
+		assertEquals(0, this.coalescer.getPendingEvents());
+	}
+
+	/**
+	 * Windows can only be set once the event queue is enabled, as held events are
+	 * dispatched through it.
+	 */
+	@Test
+	public void requiresTheEventQueue() {
+		EventCoalescer coalescer = new EventCoalescer(this.dispatched::add);
+
+		assertThrows(IllegalStateException.class, () -> coalescer.setWindow(TestEvent.class, Duration.ofMillis(50)));
+		assertFalse(coalescer.offer(new TestEvent()));
+	}
+
+	/**
+	 * Windows must be positive.
+	 */
+	@Test
+	public void rejectsWindowsThatAreNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> this.coalescer.setWindow(TestEvent.class, Duration.ZERO));
+		assertThrows(IllegalArgumentException.class, () -> this.coalescer.setWindow(TestEvent.class, Duration.ofMillis(-1)));
+	}
+
+}
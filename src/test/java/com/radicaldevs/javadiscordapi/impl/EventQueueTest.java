@@ -0,0 +1,209 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.Test;
+
+import net.dv8tion.jda.api.JDA;
+import net.dv8tion.jda.api.events.GenericEvent;
+
+/**
+ * Tests the {@link EventQueue}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class EventQueueTest {
+
+	/**
+	 * An event that is not about any guild or entity.
+	 */
+	private static class TestEvent implements GenericEvent {
+
+		@Override
+		public JDA getJDA() {
+			return null;
+		}
+
+		@Override
+		public long getResponseNumber() {
+			return 0;
+		}
+
+	}
+
+	/**
+	 * An event that is more important than a {@link TestEvent}.
+	 */
+	private static class ImportantEvent extends TestEvent {
+
+	}
+
+	/**
+	 * Events are taken in the order they were offered.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void takesEventsInOrder() throws InterruptedException {
+		EventQueue queue = new EventQueue(4, OverflowPolicy.BLOCK);
+		TestEvent first = new TestEvent();
+		TestEvent second = new TestEvent();
+
+		queue.offer(first);
+		queue.offer(second);
+
+		assertEquals(2, queue.getDepth());
+		assertSame(first, queue.take());
+		assertSame(second, queue.take());
+		assertEquals(0, queue.getDepth());
+	}
+
+	/**
+	 * An event offered to a full queue is dropped if its policy is
+	 * {@link OverflowPolicy#DROP_NEWEST}.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void dropsTheNewestEvent() throws InterruptedException {
+		EventQueue queue = new EventQueue(2, OverflowPolicy.DROP_NEWEST);
+		TestEvent first = new TestEvent();
+		TestEvent second = new TestEvent();
+
+		queue.offer(first);
+		queue.offer(second);
+		queue.offer(new TestEvent());
+
+		assertEquals(2, queue.getDepth());
+		assertEquals(1, queue.getDroppedEvents(TestEvent.class));
+		assertSame(first, queue.take());
+		assertSame(second, queue.take());
+	}
+
+	/**
+	 * Only events whose policy is {@link OverflowPolicy#DROP_OLDEST} are evicted,
+	 * and an event is dropped itself if there are none.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void onlyEvictsEventsThatCanBeEvicted() throws InterruptedException {
+		EventQueue queue = new EventQueue(2, OverflowPolicy.DROP_NEWEST);
+		TestEvent low = new TestEvent();
+		ImportantEvent important = new ImportantEvent();
+		TestEvent newer = new TestEvent();
+
+		queue.setPolicy(TestEvent.class, OverflowPolicy.DROP_OLDEST);
+		queue.setPolicy(ImportantEvent.class, OverflowPolicy.DROP_NEWEST);
+
+		queue.offer(low);
+		queue.offer(important);
+		queue.offer(newer);
+
+		assertEquals(2, queue.getDepth());
+		assertEquals(1, queue.getDroppedEvents(TestEvent.class));
+		assertEquals(0, queue.getDroppedEvents(ImportantEvent.class));
+		assertSame(important, queue.take());
+		assertSame(newer, queue.take());
+
+		queue.offer(new ImportantEvent());
+		queue.offer(new ImportantEvent());
+		queue.offer(new TestEvent());
+
+		assertEquals(2, queue.getDepth());
+		assertEquals(2, queue.getDroppedEvents(TestEvent.class));
+	}
+
+	/**
+	 * An event whose policy is {@link OverflowPolicy#COALESCE} replaces a queued
+	 * event of the same type about the same entity, and keeps its position.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void coalescesQueuedEvents() throws InterruptedException {
+		EventQueue queue = new EventQueue(4, OverflowPolicy.BLOCK);
+		TestEvent first = new TestEvent();
+		TestEvent second = new TestEvent();
+		ImportantEvent important = new ImportantEvent();
+
+		queue.setPolicy(TestEvent.class, OverflowPolicy.COALESCE);
+		queue.setPolicy(ImportantEvent.class, OverflowPolicy.BLOCK);
+
+		queue.offer(first);
+		queue.offer(important);
+		queue.offer(second);
+
+		assertEquals(2, queue.getDepth());
+		assertEquals(1, queue.getDroppedEvents(TestEvent.class));
+		assertSame(second, queue.take());
+		assertSame(important, queue.take());
+	}
+
+	/**
+	 * An event whose policy is {@link OverflowPolicy#BLOCK} waits for space in a
+	 * full queue.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void blocksUntilThereIsSpace() throws InterruptedException {
+		EventQueue queue = new EventQueue(1, OverflowPolicy.BLOCK);
+		TestEvent first = new TestEvent();
+		TestEvent second = new TestEvent();
+		CountDownLatch offered = new CountDownLatch(1);
+
+		queue.offer(first);
+
+		Thread producer = new Thread(() -> {
+			try {
+				queue.offer(second);
+				offered.countDown();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		producer.start();
+
+		assertFalse(offered.await(100, TimeUnit.MILLISECONDS));
+		assertSame(first, queue.take());
+		assertTrue(offered.await(10, TimeUnit.SECONDS));
+		assertSame(second, queue.take());
+		producer.join();
+	}
+
+	/**
+	 * The policy of a class applies to its subclasses, unless they are given their
+	 * own.
+	 */
+	@Test
+	public void inheritsPolicies() {
+		EventQueue queue = new EventQueue(1, OverflowPolicy.BLOCK);
+
+		queue.setPolicy(TestEvent.class, OverflowPolicy.DROP_OLDEST);
+
+		assertEquals(OverflowPolicy.DROP_OLDEST, queue.getPolicy(ImportantEvent.class));
+
+		queue.setPolicy(ImportantEvent.class, OverflowPolicy.DROP_NEWEST);
+
+		assertEquals(OverflowPolicy.DROP_NEWEST, queue.getPolicy(ImportantEvent.class));
+		assertEquals(OverflowPolicy.BLOCK, queue.getPolicy(GenericEvent.class));
+	}
+
+	/**
+	 * The capacity must be positive.
+	 */
+	@Test
+	public void rejectsCapacitiesThatAreNotPositive() {
+		assertThrows(IllegalArgumentException.class, () -> new EventQueue(0, OverflowPolicy.BLOCK));
+	}
+
+}
@@ -0,0 +1,148 @@
+package com.radicaldevs.javadiscordapi.impl;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/**
+ * Tests the {@link OrderedExecutor}.
+ * 
+ * @author Myles Deslippe
+ * @since 0.0.7
+ */
+public class OrderedExecutorTest {
+
+	/**
+	 * The executor the lanes run on.
+	 */
+	private ExecutorService pool;
+
+	/**
+	 * Create the executor the lanes run on.
+	 */
+	@BeforeEach
+	public void setUp() {
+		this.pool = Executors.newFixedThreadPool(4);
+	}
+
+	/**
+	 * Shut down the executor the lanes run on.
+	 */
+	@AfterEach
+	public void tearDown() {
+		this.pool.shutdownNow();
+	}
+
+	/**
+	 * Tasks with the same key run in the order they were submitted, even when
+	 * tasks with other keys are interleaved with them.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void runsTasksWithTheSameKeyInOrder() throws InterruptedException {
+		OrderedExecutor executor = new OrderedExecutor(() -> this.pool);
+		List<Integer> first = new ArrayList<Integer>();
+		List<Integer> second = new ArrayList<Integer>();
+		CountDownLatch done = new CountDownLatch(2000);
+
+		for (int i = 0; i < 1000; i++) {
+			int value = i;
+
+			executor.execute(1, () -> {
+				synchronized (first) {
+					first.add(value);
+				}
+
+				done.countDown();
+			});
+
+			executor.execute(2, () -> {
+				synchronized (second) {
+					second.add(value);
+				}
+
+				done.countDown();
+			});
+		}
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+
+		for (int i = 0; i < 1000; i++) {
+			assertEquals(i, (int) first.get(i));
+			assertEquals(i, (int) second.get(i));
+		}
+	}
+
+	/**
+	 * A task that is blocked does not delay tasks with other keys.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void runsTasksWithDifferentKeysInParallel() throws InterruptedException {
+		OrderedExecutor executor = new OrderedExecutor(() -> this.pool);
+		CountDownLatch other = new CountDownLatch(1);
+		CountDownLatch blocked = new CountDownLatch(1);
+
+		executor.execute(1, () -> {
+			try {
+				if (other.await(10, TimeUnit.SECONDS))
+					blocked.countDown();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+		});
+		executor.execute(2, other::countDown);
+
+		assertTrue(blocked.await(10, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * An exception thrown by a task does not stop the tasks after it.
+	 * 
+	 * @throws InterruptedException If the test was interrupted.
+	 */
+	@Test
+	public void continuesAfterATaskThrows() throws InterruptedException {
+		OrderedExecutor executor = new OrderedExecutor(() -> this.pool);
+		CountDownLatch done = new CountDownLatch(1);
+
+		executor.execute(1, () -> {
+			throw new IllegalStateException("Expected by the test");
+		});
+		executor.execute(1, done::countDown);
+
+		assertTrue(done.await(10, TimeUnit.SECONDS));
+	}
+
+	/**
+	 * Tasks run on the submitting thread once the executor rejects them, such as
+	 * after it has been shut down.
+	 */
+	@Test
+	public void runsRejectedTasksOnTheSubmittingThread() {
+		OrderedExecutor executor = new OrderedExecutor(() -> task -> {
+			throw new RejectedExecutionException();
+		});
+		AtomicReference<Thread> thread = new AtomicReference<Thread>();
+
+		executor.execute(1, () -> thread.set(Thread.currentThread()));
+
+		assertSame(Thread.currentThread(), thread.get());
+	}
+
+}